@@ -0,0 +1,106 @@
+package org.nosql.vykhryst.benchmark;
+
+import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoAdvertisingDAO;
+import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoProgramDAO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The five reporting queries of {@link MongoAdvertisingDAO} and {@link MongoProgramDAO}, each as
+ * the aggregation pipeline versus the client-side implementation, on the data already in MongoDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"100"})
+    public int minPrice;
+
+    @Param({"200"})
+    public int maxPrice;
+
+    @Param({"3"})
+    public int limit;
+
+    private MongoAdvertisingDAO advertisingDAO;
+    private MongoProgramDAO programDAO;
+
+    @Setup(Level.Trial)
+    public void createDao() {
+        advertisingDAO = new MongoAdvertisingDAO();
+        programDAO = new MongoProgramDAO();
+        programDAO.rebuildSummaries();
+    }
+
+    // Запит 1
+    @Benchmark
+    public Map<String, Integer> countAdsPerCategory() {
+        return advertisingDAO.countAdsPerCategory();
+    }
+
+    @Benchmark
+    public Map<String, Integer> aggregateCountAdsPerCategory() {
+        return advertisingDAO.aggregateCountAdsPerCategory();
+    }
+
+    // Запит 2
+    @Benchmark
+    public Map<String, Double> averageAdPricePerCategory() {
+        return advertisingDAO.averageAdPricePerCategory();
+    }
+
+    @Benchmark
+    public Map<String, Double> aggregateAverageAdPricePerCategory() {
+        return advertisingDAO.aggregateAverageAdPricePerCategory();
+    }
+
+    // Запит 3
+    @Benchmark
+    public Map<String, BigDecimal> calculateProgramCost() {
+        return programDAO.calculateProgramCost();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> aggregateCalculateProgramCost() {
+        return programDAO.aggregateCalculateProgramCost();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> summaryCalculateProgramCost() {
+        return programDAO.summaryCalculateProgramCost();
+    }
+
+    // Запит 4
+    @Benchmark
+    public Map<String, BigDecimal> getAdsInPriceRange() {
+        return advertisingDAO.getAdsInPriceRange(minPrice, maxPrice);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> aggregateGetAdsInPriceRange() {
+        return advertisingDAO.aggregateGetAdsInPriceRange(minPrice, maxPrice);
+    }
+
+    // Запит 5
+    @Benchmark
+    public Map<String, Integer> getMostPopularAdCategories() {
+        return programDAO.getMostPopularAdCategories(limit);
+    }
+
+    @Benchmark
+    public Map<String, Integer> aggregateGetMostPopularAdCategories() {
+        return programDAO.aggregateGetMostPopularAdCategories(limit);
+    }
+
+    @Benchmark
+    public Map<String, Integer> summaryGetMostPopularAdCategories() {
+        return programDAO.summaryGetMostPopularAdCategories(limit);
+    }
+}
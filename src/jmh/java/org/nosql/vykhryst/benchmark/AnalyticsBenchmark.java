@@ -0,0 +1,80 @@
+package org.nosql.vykhryst.benchmark;
+
+import org.nosql.vykhryst.analytics.ReportComparison;
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The five reports of {@link AnalyticsDAO} on each backend. Both backends must hold the same data (e.g. one migrated
+ * from the other); the trial setup compares every report across them with these parameters and fails on any difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsBenchmark {
+
+    @Param({"MYSQL", "MONGODB"})
+    public TypeDAO backend;
+
+    @Param({"100"})
+    public int minPrice;
+
+    @Param({"200"})
+    public int maxPrice;
+
+    @Param({"3"})
+    public int limit;
+
+    private AnalyticsDAO analyticsDAO;
+
+    @Setup(Level.Trial)
+    public void createDao() {
+        DaoFactory daoFactory = DaoFactory.getInstance();
+        analyticsDAO = daoFactory.getAnalyticsDAO(backend);
+        TypeDAO other = backend == TypeDAO.MYSQL ? TypeDAO.MONGODB : TypeDAO.MYSQL;
+        List<String> differences = ReportComparison.differences(daoFactory.getAnalyticsDAO(other), analyticsDAO, minPrice, maxPrice, limit);
+        if (!differences.isEmpty()) {
+            throw new IllegalStateException(backend + " reports differ from " + other + ": " + differences);
+        }
+    }
+
+    // Запит 1
+    @Benchmark
+    public Map<String, Integer> countAdsPerCategory() {
+        return analyticsDAO.countAdsPerCategory();
+    }
+
+    // Запит 2
+    @Benchmark
+    public Map<String, Double> averageAdPricePerCategory() {
+        return analyticsDAO.averageAdPricePerCategory();
+    }
+
+    // Запит 3
+    @Benchmark
+    public Map<String, BigDecimal> calculateProgramCost() {
+        return analyticsDAO.calculateProgramCost();
+    }
+
+    // Запит 4
+    @Benchmark
+    public Map<String, BigDecimal> getAdsInPriceRange() {
+        return analyticsDAO.getAdsInPriceRange(minPrice, maxPrice);
+    }
+
+    // Запит 5
+    @Benchmark
+    public Map<String, Integer> getMostPopularAdCategories() {
+        return analyticsDAO.getMostPopularAdCategories(limit);
+    }
+}
@@ -0,0 +1,28 @@
+package org.nosql.vykhryst.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code target/benchmarks.jar}. Accepts the usual JMH command line
+ * (e.g. {@code DaoBenchmark -p backend=MONGODB}) but writes results as JSON by default,
+ * so runs from different commits can be compared with any JMH result viewer.
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(0, List.of("-rf", "json"));
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.addAll(0, List.of("-rff", DEFAULT_RESULT_FILE));
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
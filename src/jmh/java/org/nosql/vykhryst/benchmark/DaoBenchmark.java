@@ -0,0 +1,76 @@
+package org.nosql.vykhryst.benchmark;
+
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.entity.Client;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row and full-scan client operations against a local MySQL or MongoDB instance.
+ * {@code dataSize} clients are seeded before the trial and removed after it; note that
+ * {@code findAll} also reads whatever rows the database already contained.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    @Param({"MYSQL", "MONGODB"})
+    public TypeDAO backend;
+
+    @Param({"1000", "10000"})
+    public int dataSize;
+
+    private ClientDAO clientDAO;
+    private String prefix;
+    private List<String> seededIds;
+    private final List<String> savedIds = new ArrayList<>();
+    private int saved;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        clientDAO = DaoFactory.getInstance().getClientDAO(backend);
+        prefix = Fixtures.prefix();
+        seededIds = new ArrayList<>(clientDAO.saveAll(Fixtures.clients(prefix, dataSize)));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteSaved() {
+        Fixtures.deleteAll(clientDAO, savedIds);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSeeded() {
+        Fixtures.deleteAll(clientDAO, seededIds);
+    }
+
+    @Benchmark
+    public String save() {
+        String id = clientDAO.save(Fixtures.client(prefix + "save-", saved++));
+        savedIds.add(id);
+        return id;
+    }
+
+    @Benchmark
+    public Optional<Client> findById() {
+        return clientDAO.findById(seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size())));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public List<Client> findAll() {
+        return clientDAO.findAll();
+    }
+}
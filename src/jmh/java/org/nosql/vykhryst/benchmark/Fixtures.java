@@ -0,0 +1,79 @@
+package org.nosql.vykhryst.benchmark;
+
+import org.nosql.vykhryst.dao.DAO;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Money;
+import org.nosql.vykhryst.entity.Program;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark data: entities tagged with a per-run prefix, so they never collide with existing rows
+ * and can be deleted again when the trial ends.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static String prefix() {
+        return "jmh-" + System.nanoTime() + "-";
+    }
+
+    static Client client(String prefix, int i) {
+        return new Client.Builder()
+                .username(prefix + "username" + i)
+                .firstname("firstname" + i)
+                .lastname("lastname" + i)
+                .phoneNumber("tel" + i)
+                .email(prefix + "email" + i)
+                .password("password" + i)
+                .build();
+    }
+
+    static List<Client> clients(String prefix, int count) {
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            clients.add(client(prefix, i));
+        }
+        return clients;
+    }
+
+    static List<Advertising> advertisings(String prefix, int count, Category category) {
+        List<Advertising> advertisings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            advertisings.add(new Advertising.Builder()
+                    .category(category)
+                    .name(prefix + "advertising" + i)
+                    .measurement("piece")
+                    .unitPrice(Money.ofMinorUnits(1000 + i * 25L))
+                    .description("description of advertising " + i)
+                    .updatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                    .build());
+        }
+        return advertisings;
+    }
+
+    // lineItems consecutive advertisings starting at the i-th, quantities 1..lineItems
+    static Program program(String prefix, int i, Client client, List<Advertising> advertisings, int lineItems) {
+        Program.Builder builder = new Program.Builder()
+                .client(client)
+                .campaignTitle(prefix + "campaign" + i)
+                .description("description of campaign " + i)
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        for (int j = 0; j < lineItems; j++) {
+            builder.addAdvertising(advertisings.get((i + j) % advertisings.size()), j + 1);
+        }
+        return builder.build();
+    }
+
+    static <T> void deleteAll(DAO<T> dao, List<String> ids) {
+        ids.forEach(dao::delete);
+        ids.clear();
+    }
+}
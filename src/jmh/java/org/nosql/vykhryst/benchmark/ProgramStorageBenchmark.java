@@ -0,0 +1,147 @@
+package org.nosql.vykhryst.benchmark;
+
+import com.mongodb.client.model.Filters;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.cache.EntityCache;
+import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
+import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoProgramDAO;
+import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.ProgramStorage;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Program;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MongoProgramDAO} with embedded client and advertising copies versus references ({@link ProgramStorage}).
+ * {@code dataSize} programs of {@code lineItems} items each are seeded per trial over shared clients and advertisings,
+ * and the trial prints their average stored BSON size. {@code save} measures write throughput; {@code findById} and
+ * {@code findPage} measure read latency including the reference lookups, with or without the advertising cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgramStorageBenchmark {
+
+    private static final int CLIENTS = 100;
+    private static final int ADVERTISINGS = 50;
+
+    @Param({"EMBEDDED", "REFERENCE", "REFERENCE_SNAPSHOT"})
+    public String storage;
+
+    @Param({"true", "false"})
+    public boolean advertisingCache;
+
+    @Param({"1000"})
+    public int dataSize;
+
+    @Param({"5"})
+    public int lineItems;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private CategoryDAO categoryDAO;
+    private AdvertisingDAO advertisingDAO;
+    private ClientDAO clientDAO;
+    private MongoProgramDAO programDAO;
+    private String prefix;
+    private Category category;
+    private List<Advertising> advertisings;
+    private List<Client> clients;
+    private List<String> seededIds;
+    private final List<String> savedIds = new ArrayList<>();
+    private int saved;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        DaoFactory factory = DaoFactory.getInstance();
+        categoryDAO = factory.getCategoryDAO(TypeDAO.MONGODB);
+        advertisingDAO = factory.getAdvertisingDAO(TypeDAO.MONGODB);
+        clientDAO = factory.getClientDAO(TypeDAO.MONGODB);
+        programDAO = new MongoProgramDAO(programStorage(),
+                advertisingCache ? new EntityCache<>("jmh.advertising.byId", ADVERTISINGS, Duration.ofHours(1)) : null);
+
+        prefix = Fixtures.prefix();
+        category = new Category(null, prefix + "category");
+        categoryDAO.save(category);
+        advertisings = Fixtures.advertisings(prefix, ADVERTISINGS, category);
+        advertisingDAO.saveAll(advertisings);
+        clients = Fixtures.clients(prefix, CLIENTS);
+        clientDAO.saveAll(clients);
+        List<Program> programs = new ArrayList<>(dataSize);
+        for (int i = 0; i < dataSize; i++) {
+            programs.add(Fixtures.program(prefix, i, clients.get(i % CLIENTS), advertisings, lineItems));
+        }
+        seededIds = new ArrayList<>(programDAO.saveAll(programs));
+        System.out.printf("%n%s: %d bytes per program document on average%n", programDAO.getStorage(), averageDocumentSize(seededIds));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteSaved() {
+        Fixtures.deleteAll(programDAO, savedIds);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSeeded() {
+        Fixtures.deleteAll(programDAO, seededIds);
+        Fixtures.deleteAll(clientDAO, new ArrayList<>(clients.stream().map(Client::getId).toList()));
+        Fixtures.deleteAll(advertisingDAO, new ArrayList<>(advertisings.stream().map(Advertising::getId).toList()));
+        categoryDAO.delete(category.getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public String save() {
+        int i = saved++;
+        String id = programDAO.save(Fixtures.program(prefix + "save-", i, clients.get(i % CLIENTS), advertisings, lineItems));
+        savedIds.add(id);
+        return id;
+    }
+
+    @Benchmark
+    public Optional<Program> findById() {
+        return programDAO.findById(seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size())));
+    }
+
+    @Benchmark
+    public List<Program> findPage() {
+        return programDAO.findPage(seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size())), pageSize);
+    }
+
+    private ProgramStorage programStorage() {
+        return switch (storage) {
+            case "EMBEDDED" -> new ProgramStorage(ProgramStorage.Mode.EMBEDDED, false);
+            case "REFERENCE" -> new ProgramStorage(ProgramStorage.Mode.REFERENCE, false);
+            case "REFERENCE_SNAPSHOT" -> new ProgramStorage(ProgramStorage.Mode.REFERENCE, true);
+            default -> throw new IllegalArgumentException("Unknown storage " + storage);
+        };
+    }
+
+    // Sizes as stored, read back as raw BSON without decoding
+    private static long averageDocumentSize(List<String> ids) {
+        long total = 0;
+        for (RawBsonDocument doc : MongoConnectionManager.getCollection("program", RawBsonDocument.class)
+                .find(Filters.in("_id", ids.stream().map(ObjectId::new).toList()))) {
+            total += doc.getByteBuffer().remaining();
+        }
+        return ids.isEmpty() ? 0 : total / ids.size();
+    }
+}
@@ -0,0 +1,73 @@
+package org.nosql.vykhryst.benchmark;
+
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.entity.Client;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting {@code dataSize} clients one {@code save} at a time versus {@code saveAll} in chunks of {@code batchSize}.
+ * Every invocation writes a fresh list and deletes it again outside the measured time. {@code batchSize} lives only
+ * on the state {@code saveAll} uses, so {@code saveLoop} runs once per backend and data size.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SaveAllBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Clients {
+
+        @Param({"MYSQL", "MONGODB"})
+        public TypeDAO backend;
+
+        @Param({"1000", "10000"})
+        public int dataSize;
+
+        ClientDAO clientDAO;
+        List<Client> clients;
+        final List<String> savedIds = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void createDao() {
+            clientDAO = DaoFactory.getInstance().getClientDAO(backend);
+        }
+
+        @Setup(Level.Invocation)
+        public void createClients() {
+            clients = Fixtures.clients(Fixtures.prefix(), dataSize);
+        }
+
+        @TearDown(Level.Invocation)
+        public void deleteClients() {
+            Fixtures.deleteAll(clientDAO, savedIds);
+        }
+    }
+
+    public static class BatchedClients extends Clients {
+
+        @Param({"100", "1000"})
+        public int batchSize;
+    }
+
+    @Benchmark
+    public List<String> saveLoop(Clients state) {
+        for (Client client : state.clients) {
+            state.savedIds.add(state.clientDAO.save(client));
+        }
+        return state.savedIds;
+    }
+
+    @Benchmark
+    public List<String> saveAll(BatchedClients state) {
+        state.savedIds.addAll(state.clientDAO.saveAll(state.clients, state.batchSize));
+        return state.savedIds;
+    }
+}
@@ -0,0 +1,285 @@
+package org.nosql.vykhryst.analytics;
+
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
+import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.entity.AdvertisingView;
+import org.nosql.vykhryst.entity.LineItemView;
+import org.nosql.vykhryst.entity.Money;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-process version of the five "Запит" reports over a columnar snapshot of advertising and program line items.
+ * Categories and campaign titles are dictionary-encoded to ints, prices are longs scaled by {@code 10^PRICE_SCALE},
+ * quantities are ints. Reports scan the columns in parallel chunks, each accumulating into its own primitive array,
+ * so the per-row loops allocate nothing; only the final result maps are boxed. Money sums use exact arithmetic and
+ * throw {@link ArithmeticException} on overflow, as {@link Money} and the Mongo reports do.
+ * {@link #refresh} streams the projected advertising and line item views from either backend and swaps the snapshot atomically.
+ */
+public class ColumnarReports implements AnalyticsDAO {
+
+    public static final int PRICE_SCALE = Money.SCALE;
+    private static final int MIN_CHUNK_ROWS = 4096;
+
+    private volatile Columns columns = Columns.EMPTY;
+
+    public static ColumnarReports load(TypeDAO type) {
+        ColumnarReports reports = new ColumnarReports();
+        DaoFactory daoFactory = DaoFactory.getInstance();
+        reports.refresh(daoFactory.getAdvertisingDAO(type), daoFactory.getProgramDAO(type));
+        return reports;
+    }
+
+    public void refresh(AdvertisingDAO advertisingDAO, ProgramDAO programDAO) {
+        Columns.Builder builder = new Columns.Builder();
+        try (Stream<AdvertisingView> advertisings = advertisingDAO.streamViews()) {
+            advertisings.forEach(builder::addAdvertising);
+        }
+        try (Stream<LineItemView> lineItems = programDAO.streamLineItems()) {
+            lineItems.forEach(builder::addLineItem);
+        }
+        columns = builder.build();
+    }
+
+    public int getAdvertisingCount() {
+        return columns.adCategory.length;
+    }
+
+    public int getLineItemCount() {
+        return columns.itemCategory.length;
+    }
+
+    // Запит 1
+    @Override
+    public Map<String, Integer> countAdsPerCategory() {
+        Columns c = columns;
+        long[] counts = scan(c.adCategory.length, c.categories.length, (acc, from, to) -> {
+            int[] category = c.adCategory;
+            for (int i = from; i < to; i++) {
+                acc[category[i]]++;
+            }
+        });
+        Map<String, Integer> result = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(c.categories[code], (int) counts[code]);
+            }
+        }
+        return result;
+    }
+
+    // Запит 2
+    @Override
+    public Map<String, Double> averageAdPricePerCategory() {
+        Columns c = columns;
+        long[] sumsAndCounts = scan(c.adCategory.length, 2 * c.categories.length, (acc, from, to) -> {
+            int[] category = c.adCategory;
+            long[] price = c.adPrice;
+            for (int i = from; i < to; i++) {
+                acc[2 * category[i]] = Math.addExact(acc[2 * category[i]], price[i]);
+                acc[2 * category[i] + 1]++;
+            }
+        });
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < c.categories.length; code++) {
+            long count = sumsAndCounts[2 * code + 1];
+            if (count > 0) {
+                result.put(c.categories[code], Money.ofMinorUnits(sumsAndCounts[2 * code]).toDouble() / count);
+            }
+        }
+        return result;
+    }
+
+    // Запит 3
+    @Override
+    public Map<String, BigDecimal> calculateProgramCost() {
+        Columns c = columns;
+        long[] costsAndItems = scan(c.itemTitle.length, 2 * c.titles.length, (acc, from, to) -> {
+            int[] title = c.itemTitle;
+            long[] price = c.itemPrice;
+            int[] quantity = c.itemQuantity;
+            for (int i = from; i < to; i++) {
+                acc[2 * title[i]] = Math.addExact(acc[2 * title[i]], Math.multiplyExact(price[i], quantity[i]));
+                acc[2 * title[i] + 1]++;
+            }
+        });
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (int code = 0; code < c.titles.length; code++) {
+            if (costsAndItems[2 * code + 1] > 0) {
+                result.put(c.titles[code], Money.ofMinorUnits(costsAndItems[2 * code]).toBigDecimal());
+            }
+        }
+        return result;
+    }
+
+    // Запит 4
+    @Override
+    public Map<String, BigDecimal> getAdsInPriceRange(int minPrice, int maxPrice) {
+        Columns c = columns;
+        long min = Money.ofUnits(minPrice).getMinorUnits();
+        long max = Money.ofUnits(maxPrice).getMinorUnits();
+        long[] price = c.adPrice;
+        int[] matches = IntStream.range(0, price.length).parallel()
+                .filter(i -> price[i] >= min && price[i] <= max)
+                .toArray();
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (int i : matches) {
+            result.put(c.adName[i], Money.ofMinorUnits(price[i]).toBigDecimal());
+        }
+        return result;
+    }
+
+    // Запит 5
+    @Override
+    public Map<String, Integer> getMostPopularAdCategories(int limit) {
+        Columns c = columns;
+        long[] counts = scan(c.itemCategory.length, c.categories.length, (acc, from, to) -> {
+            int[] category = c.itemCategory;
+            for (int i = from; i < to; i++) {
+                acc[category[i]]++;
+            }
+        });
+        Map<String, Integer> result = new LinkedHashMap<>();
+        IntStream.range(0, counts.length)
+                .filter(code -> counts[code] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer code) -> counts[code]).reversed().thenComparing(code -> c.categories[code]))
+                .limit(limit)
+                .forEach(code -> result.put(c.categories[code], (int) counts[code]));
+        return result;
+    }
+
+    /**
+     * Splits {@code rows} into chunks scanned in parallel into per-chunk {@code long[width]} accumulators, then sums them.
+     */
+    private static long[] scan(int rows, int width, ChunkScan scan) {
+        int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, rows / MIN_CHUNK_ROWS));
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long[] acc = new long[width];
+                    scan.scan(acc, (int) ((long) rows * chunk / chunks), (int) ((long) rows * (chunk + 1) / chunks));
+                    return acc;
+                })
+                .reduce((left, right) -> {
+                    for (int i = 0; i < width; i++) {
+                        left[i] = Math.addExact(left[i], right[i]);
+                    }
+                    return left;
+                })
+                .orElseGet(() -> new long[width]);
+    }
+
+    @FunctionalInterface
+    private interface ChunkScan {
+        void scan(long[] acc, int from, int to);
+    }
+
+    private static final class Columns {
+        static final Columns EMPTY = new Builder().build();
+
+        final String[] categories;
+        final int[] adCategory;
+        final long[] adPrice;
+        final String[] adName;
+        final String[] titles;
+        final int[] itemTitle;
+        final int[] itemCategory;
+        final long[] itemPrice;
+        final int[] itemQuantity;
+
+        private Columns(Builder builder) {
+            this.categories = builder.categories.values();
+            this.adCategory = builder.adCategory.toArray();
+            this.adPrice = builder.adPrice.toArray();
+            this.adName = builder.adName.toArray(new String[0]);
+            this.titles = builder.titles.values();
+            this.itemTitle = builder.itemTitle.toArray();
+            this.itemCategory = builder.itemCategory.toArray();
+            this.itemPrice = builder.itemPrice.toArray();
+            this.itemQuantity = builder.itemQuantity.toArray();
+        }
+
+        static final class Builder {
+            private final Dictionary categories = new Dictionary();
+            private final Dictionary titles = new Dictionary();
+            private final IntColumn adCategory = new IntColumn();
+            private final LongColumn adPrice = new LongColumn();
+            private final List<String> adName = new ArrayList<>();
+            private final IntColumn itemTitle = new IntColumn();
+            private final IntColumn itemCategory = new IntColumn();
+            private final LongColumn itemPrice = new LongColumn();
+            private final IntColumn itemQuantity = new IntColumn();
+
+            void addAdvertising(AdvertisingView advertising) {
+                adCategory.add(categories.code(advertising.categoryName()));
+                adPrice.add(advertising.unitPrice().getMinorUnits());
+                adName.add(advertising.name());
+            }
+
+            void addLineItem(LineItemView lineItem) {
+                itemTitle.add(titles.code(lineItem.campaignTitle()));
+                itemCategory.add(categories.code(lineItem.categoryName()));
+                itemPrice.add(lineItem.unitPrice().getMinorUnits());
+                itemQuantity.add(lineItem.quantity());
+            }
+
+            Columns build() {
+                return new Columns(this);
+            }
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    private static final class IntColumn {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongColumn {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.nosql.vykhryst.analytics;
+
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.BiPredicate;
+
+/**
+ * Runs the five reports on two {@link AnalyticsDAO}s with the same arguments and lists where the results differ.
+ * Amounts are compared with {@code compareTo}, because {@code DECIMAL} and {@code Decimal128} sums carry different scales;
+ * averages within a relative tolerance, because each engine divides in its own precision. Запит 5 is compared in order.
+ */
+public final class ReportComparison {
+
+    private static final double AVERAGE_TOLERANCE = 1e-9;
+
+    private ReportComparison() {
+    }
+
+    public static List<String> differences(AnalyticsDAO expected, AnalyticsDAO actual, int minPrice, int maxPrice, int limit) {
+        List<String> differences = new ArrayList<>();
+        compare("countAdsPerCategory", expected.countAdsPerCategory(), actual.countAdsPerCategory(), Objects::equals, differences);
+        compare("averageAdPricePerCategory", expected.averageAdPricePerCategory(), actual.averageAdPricePerCategory(),
+                (left, right) -> Math.abs(left - right) <= AVERAGE_TOLERANCE * Math.max(Math.abs(left), Math.abs(right)), differences);
+        compare("calculateProgramCost", expected.calculateProgramCost(), actual.calculateProgramCost(),
+                ReportComparison::sameAmount, differences);
+        compare("getAdsInPriceRange", expected.getAdsInPriceRange(minPrice, maxPrice), actual.getAdsInPriceRange(minPrice, maxPrice),
+                ReportComparison::sameAmount, differences);
+
+        List<Map.Entry<String, Integer>> expectedTop = new ArrayList<>(expected.getMostPopularAdCategories(limit).entrySet());
+        List<Map.Entry<String, Integer>> actualTop = new ArrayList<>(actual.getMostPopularAdCategories(limit).entrySet());
+        if (!expectedTop.equals(actualTop)) {
+            differences.add("getMostPopularAdCategories: expected " + expectedTop + ", got " + actualTop);
+        }
+        return differences;
+    }
+
+    private static boolean sameAmount(BigDecimal left, BigDecimal right) {
+        return left.compareTo(right) == 0;
+    }
+
+    private static <V> void compare(String report, Map<String, V> expected, Map<String, V> actual, BiPredicate<V, V> equal,
+                                    List<String> differences) {
+        Set<String> keys = new TreeSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        for (String key : keys) {
+            V expectedValue = expected.get(key);
+            V actualValue = actual.get(key);
+            if (expectedValue == null || actualValue == null || !equal.test(expectedValue, actualValue)) {
+                differences.add(report + " '" + key + "': expected " + expectedValue + ", got " + actualValue);
+            }
+        }
+    }
+}
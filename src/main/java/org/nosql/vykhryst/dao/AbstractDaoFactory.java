@@ -1,9 +1,6 @@
 package org.nosql.vykhryst.dao;
 
-import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
-import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
-import org.nosql.vykhryst.dao.entityDao.ClientDAO;
-import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.dao.entityDao.*;
 
 public interface AbstractDaoFactory {
     AdvertisingDAO getAdvertisingDAO(TypeDAO type);
@@ -13,4 +10,14 @@ public interface AbstractDaoFactory {
     ProgramDAO getProgramDAO(TypeDAO type);
 
     CategoryDAO getCategoryDAO(TypeDAO type);
+
+    AnalyticsDAO getAnalyticsDAO(TypeDAO type);
+
+    AsyncAdvertisingDAO getAsyncAdvertisingDAO(TypeDAO type);
+
+    AsyncClientDAO getAsyncClientDAO(TypeDAO type);
+
+    AsyncProgramDAO getAsyncProgramDAO(TypeDAO type);
+
+    AsyncCategoryDAO getAsyncCategoryDAO(TypeDAO type);
 }
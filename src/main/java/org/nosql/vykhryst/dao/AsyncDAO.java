@@ -0,0 +1,32 @@
+package org.nosql.vykhryst.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link DAO}. Futures complete exceptionally with {@link org.nosql.vykhryst.util.DBException}
+ * when the query fails or the backend's request queue is full.
+ * There is no {@code streamAll}: a stream holds a cursor open and is only meaningful on the thread consuming it.
+ */
+public interface AsyncDAO<T> {
+
+    CompletableFuture<Optional<T>> findById(String id);
+
+    CompletableFuture<List<T>> findAll();
+
+    CompletableFuture<List<T>> findPage(String afterId, int limit);
+
+    CompletableFuture<String> save(T entity);
+
+    CompletableFuture<List<String>> saveAll(Collection<T> entities, int chunkSize);
+
+    default CompletableFuture<List<String>> saveAll(Collection<T> entities) {
+        return saveAll(entities, DAO.DEFAULT_BATCH_SIZE);
+    }
+
+    CompletableFuture<Boolean> update(T entity);
+
+    CompletableFuture<Boolean> delete(String id);
+}
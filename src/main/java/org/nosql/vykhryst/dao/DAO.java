@@ -1,16 +1,49 @@
 package org.nosql.vykhryst.dao;
 
+import org.nosql.vykhryst.util.PropertiesManager;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DAO<T> {
 
+    int DEFAULT_BATCH_SIZE = Integer.parseInt(PropertiesManager.getProperty("dao.batch.size", "1000"));
+
     Optional<T> findById(String id);
 
     List<T> findAll();
 
+    /**
+     * Lazily reads every entity without materializing the whole collection.
+     * The stream holds a connection or cursor, so it must be closed (try-with-resources).
+     */
+    Stream<T> streamAll();
+
+    /**
+     * Keyset page: at most {@code limit} entities whose id follows {@code afterId} ({@code null} for the first page),
+     * in id order. The id of a page's last entity is the {@code afterId} of the next one, so every page is one
+     * index range read however deep it is.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    List<T> findPage(String afterId, int limit);
+
     String save(T entity);
 
+    /**
+     * Inserts all entities in chunks of {@code chunkSize}, assigning generated ids back onto them like {@link #save}.
+     * Returns the ids in iteration order.
+     *
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive
+     */
+    List<String> saveAll(Collection<T> entities, int chunkSize);
+
+    default List<String> saveAll(Collection<T> entities) {
+        return saveAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
     boolean update(T entity);
 
     boolean delete(String id);
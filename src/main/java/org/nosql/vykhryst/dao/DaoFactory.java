@@ -1,22 +1,40 @@
 package org.nosql.vykhryst.dao;
 
-import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
-import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
-import org.nosql.vykhryst.dao.entityDao.ClientDAO;
-import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.dao.async.*;
+import org.nosql.vykhryst.dao.cache.CacheConfig;
+import org.nosql.vykhryst.dao.cache.CacheStatistics;
+import org.nosql.vykhryst.dao.cache.CachingAdvertisingDAO;
+import org.nosql.vykhryst.dao.cache.CachingCategoryDAO;
+import org.nosql.vykhryst.dao.cache.EntityCache;
+import org.nosql.vykhryst.dao.entityDao.*;
+import org.nosql.vykhryst.dao.metrics.*;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoAdvertisingDAO;
+import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoAnalyticsDAO;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoCategoryDAO;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoClientDAO;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoProgramDAO;
+import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.ProgramStorage;
 import org.nosql.vykhryst.dao.mysql.mysqlEntityDao.MySqlAdvertisingDAO;
+import org.nosql.vykhryst.dao.mysql.mysqlEntityDao.MySqlAnalyticsDAO;
 import org.nosql.vykhryst.dao.mysql.mysqlEntityDao.MySqlCategoryDAO;
 import org.nosql.vykhryst.dao.mysql.mysqlEntityDao.MySqlClientDAO;
 import org.nosql.vykhryst.dao.mysql.mysqlEntityDao.MySqlProgramDAO;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DaoFactory implements AbstractDaoFactory {
 
     private static DaoFactory instance = new DaoFactory();
 
+    private final CacheConfig cacheConfig = CacheConfig.fromProperties();
+    private final Map<String, EntityCache<String, ?>> caches = new ConcurrentHashMap<>();
+    private final Map<TypeDAO, DaoExecutor> executors = new ConcurrentHashMap<>();
+    private final boolean metricsEnabled = Boolean.parseBoolean(PropertiesManager.getProperty("dao.metrics.enabled", "true"));
+    private final DaoMetrics metrics = new DaoMetrics();
+
     private DaoFactory() {
         // Приватний конструктор, щоб заборонити створення екземплярів
     }
@@ -29,40 +47,124 @@ public class DaoFactory implements AbstractDaoFactory {
     }
 
     public AdvertisingDAO getAdvertisingDAO(TypeDAO type) {
+        AdvertisingDAO dao = null;
         if (type == TypeDAO.MYSQL) {
-            return new MySqlAdvertisingDAO();
+            dao = new MySqlAdvertisingDAO();
         } else if (type == TypeDAO.MONGODB) {
-            return new MongoAdvertisingDAO();
+            dao = new MongoAdvertisingDAO();
+        }
+        if (dao != null && metricsEnabled) {
+            dao = new InstrumentedAdvertisingDAO(dao, metrics);
+        }
+        if (dao != null && cacheConfig.isEnabled()) {
+            dao = new CachingAdvertisingDAO(dao, cache(type, "advertising.byId"), cache(type, "advertising.byName"));
         }
-        return null;
+        return dao;
     }
 
 
     public ClientDAO getClientDAO(TypeDAO type) {
+        ClientDAO dao = null;
         if (type == TypeDAO.MYSQL) {
-            return new MySqlClientDAO();
+            dao = new MySqlClientDAO();
         } else if (type == TypeDAO.MONGODB) {
-            return new MongoClientDAO();
+            dao = new MongoClientDAO();
         }
-        return null;
+        if (dao != null && metricsEnabled) {
+            dao = new InstrumentedClientDAO(dao, metrics);
+        }
+        return dao;
     }
 
     public ProgramDAO getProgramDAO(TypeDAO type) {
+        ProgramDAO dao = null;
         if (type == TypeDAO.MYSQL) {
-            return new MySqlProgramDAO();
+            dao = new MySqlProgramDAO();
         } else if (type == TypeDAO.MONGODB) {
-            return new MongoProgramDAO();
+            // programs stored as references resolve their advertisings through the cache CachingAdvertisingDAO invalidates
+            dao = new MongoProgramDAO(ProgramStorage.fromProperties(), cacheConfig.isEnabled() ? cache(type, "advertising.byId") : null);
+        }
+        if (dao != null && metricsEnabled) {
+            dao = new InstrumentedProgramDAO(dao, metrics);
         }
-        return null;
+        return dao;
     }
 
     public CategoryDAO getCategoryDAO(TypeDAO type) {
+        CategoryDAO dao = null;
         if (type == TypeDAO.MYSQL) {
-            return new MySqlCategoryDAO();
+            dao = new MySqlCategoryDAO();
         } else if (type == TypeDAO.MONGODB) {
-            return new MongoCategoryDAO();
+            dao = new MongoCategoryDAO();
+        }
+        if (dao != null && metricsEnabled) {
+            dao = new InstrumentedCategoryDAO(dao, metrics);
+        }
+        if (dao != null && cacheConfig.isEnabled()) {
+            dao = new CachingCategoryDAO(dao, cache(type, "category.byId"), cache(type, "category.byName"));
         }
-        return null;
+        return dao;
+    }
+
+    public AnalyticsDAO getAnalyticsDAO(TypeDAO type) {
+        AnalyticsDAO dao = null;
+        if (type == TypeDAO.MYSQL) {
+            dao = new MySqlAnalyticsDAO();
+        } else if (type == TypeDAO.MONGODB) {
+            dao = new MongoAnalyticsDAO();
+        }
+        if (dao != null && metricsEnabled) {
+            dao = new InstrumentedAnalyticsDAO(dao, metrics);
+        }
+        return dao;
+    }
+
+    public AsyncAdvertisingDAO getAsyncAdvertisingDAO(TypeDAO type) {
+        return new ExecutorAsyncAdvertisingDAO(getAdvertisingDAO(type), executor(type));
+    }
+
+    public AsyncClientDAO getAsyncClientDAO(TypeDAO type) {
+        return new ExecutorAsyncClientDAO(getClientDAO(type), executor(type));
+    }
+
+    public AsyncProgramDAO getAsyncProgramDAO(TypeDAO type) {
+        return new ExecutorAsyncProgramDAO(getProgramDAO(type), executor(type));
+    }
+
+    public AsyncCategoryDAO getAsyncCategoryDAO(TypeDAO type) {
+        return new ExecutorAsyncCategoryDAO(getCategoryDAO(type), executor(type));
+    }
+
+    /**
+     * Per-method call counts, errors and latencies of every backend DAO (also published over JMX).
+     * DAOs are instrumented beneath the cache, so cache hits are not counted here.
+     */
+    public List<MethodMetricsSnapshot> getDaoMetrics() {
+        return metrics.snapshot();
+    }
+
+    /**
+     * Counters of every entity cache created so far, keyed by backend and lookup (e.g. {@code MYSQL.category.byName}).
+     */
+    public List<CacheStatistics> getCacheStatistics() {
+        return caches.values().stream().map(EntityCache::getStatistics).toList();
+    }
+
+    // One executor per backend, as wide as its connection pool: extra threads would only wait for a connection
+    private DaoExecutor executor(TypeDAO type) {
+        return executors.computeIfAbsent(type, key -> {
+            String defaultThreads = key == TypeDAO.MYSQL ? PropertiesManager.getProperty("mysql.pool.maxSize", "10") : "100";
+            return new DaoExecutor(key.name().toLowerCase(),
+                    Integer.parseInt(PropertiesManager.getProperty("dao.async." + key.name().toLowerCase() + ".threads", defaultThreads)),
+                    Integer.parseInt(PropertiesManager.getProperty("dao.async.queueCapacity", "10000")));
+        });
+    }
+
+    // Caches are shared by all DAO instances of a backend, so an update through any of them invalidates the others
+    @SuppressWarnings("unchecked")
+    private <T> EntityCache<String, T> cache(TypeDAO type, String name) {
+        return (EntityCache<String, T>) caches.computeIfAbsent(type + "." + name,
+                key -> new EntityCache<>(key, cacheConfig.getMaxSize(), cacheConfig.getTtl()));
     }
 
 }
@@ -0,0 +1,112 @@
+package org.nosql.vykhryst.dao;
+
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Money;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Migration-scoped map from source natural keys to destination ids.
+ * Categories are keyed by name, clients by email and password, advertising by name, measurement and unit price.
+ * Entities written earlier in the same migration are registered directly, so later lookups need no queries;
+ * anything not registered is looked up once through the destination DAO and memoized.
+ * Mappings registered by source id (e.g. replayed from a migration checkpoint) take precedence over natural keys.
+ */
+public class MigrationResolver {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final Map<String, String> categoryIds = new ConcurrentHashMap<>();
+    private final Map<String, String> clientIds = new ConcurrentHashMap<>();
+    private final Map<String, String> advertisingIds = new ConcurrentHashMap<>();
+    private final Map<String, String> categoryIdsBySource = new ConcurrentHashMap<>();
+    private final Map<String, String> clientIdsBySource = new ConcurrentHashMap<>();
+    private final Map<String, String> advertisingIdsBySource = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void registerCategory(Category destination) {
+        categoryIds.put(destination.getName(), destination.getId());
+    }
+
+    public void registerClient(Client destination) {
+        clientIds.put(clientKey(destination), destination.getId());
+    }
+
+    public void registerAdvertising(Advertising destination) {
+        advertisingIds.put(advertisingKey(destination), destination.getId());
+    }
+
+    public void registerCategoryId(String sourceId, String destinationId) {
+        categoryIdsBySource.put(sourceId, destinationId);
+    }
+
+    public void registerClientId(String sourceId, String destinationId) {
+        clientIdsBySource.put(sourceId, destinationId);
+    }
+
+    public void registerAdvertisingId(String sourceId, String destinationId) {
+        advertisingIdsBySource.put(sourceId, destinationId);
+    }
+
+    public String categoryId(Category source, Function<String, String> lookupByName) {
+        String id = bySource(categoryIdsBySource, source.getId());
+        return id != null ? id : resolve(categoryIds, source.getName(), source.getName(), lookupByName);
+    }
+
+    public String clientId(Client source, Function<Client, String> lookup) {
+        String id = bySource(clientIdsBySource, source.getId());
+        return id != null ? id : resolve(clientIds, clientKey(source), source, lookup);
+    }
+
+    public String advertisingId(Advertising source, Function<Advertising, String> lookup) {
+        String id = bySource(advertisingIdsBySource, source.getId());
+        return id != null ? id : resolve(advertisingIds, advertisingKey(source), source, lookup);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private String bySource(Map<String, String> ids, String sourceId) {
+        String id = sourceId == null ? null : ids.get(sourceId);
+        if (id != null) {
+            hits.increment();
+        }
+        return id;
+    }
+
+    private <T> String resolve(Map<String, String> ids, String key, T source, Function<T, String> lookup) {
+        String id = ids.get(key);
+        if (id != null) {
+            hits.increment();
+            return id;
+        }
+        misses.increment();
+        id = lookup.apply(source);
+        if (id != null) {
+            ids.putIfAbsent(key, id);
+        }
+        return id;
+    }
+
+    private static String clientKey(Client client) {
+        return client.getEmail() + SEPARATOR + client.getPassword();
+    }
+
+    private static String advertisingKey(Advertising advertising) {
+        Money price = advertising.getUnitPrice();
+        return advertising.getName() + SEPARATOR + advertising.getMeasurement() + SEPARATOR
+                + (price == null ? null : price.getMinorUnits());
+    }
+}
@@ -0,0 +1,54 @@
+package org.nosql.vykhryst.dao.async;
+
+import org.nosql.vykhryst.util.DBException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking DAO calls of one backend on a fixed number of daemon threads with a bounded request queue.
+ * The thread count should match the backend's connection pool: more threads would only wait for a connection,
+ * so thousands of concurrent requests cost queue slots rather than OS threads.
+ * When the queue is full the returned future fails immediately instead of blocking the caller.
+ */
+public class DaoExecutor {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+
+    public DaoExecutor(String name, int threads, int queueCapacity) {
+        this.name = name;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, name + "-dao-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <R> CompletableFuture<R> submit(Supplier<R> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new DBException(name + " DAO queue is full (" + executor.getQueue().size() + " pending)", e));
+        }
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,32 @@
+package org.nosql.vykhryst.dao.async;
+
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.dao.entityDao.AsyncAdvertisingDAO;
+import org.nosql.vykhryst.entity.Advertising;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class ExecutorAsyncAdvertisingDAO extends ExecutorAsyncDAO<Advertising, AdvertisingDAO> implements AsyncAdvertisingDAO {
+
+    public ExecutorAsyncAdvertisingDAO(AdvertisingDAO delegate, DaoExecutor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Advertising>> findByName(String name) {
+        return submit(() -> delegate.findByName(name));
+    }
+
+    @Override
+    public CompletableFuture<String> migrate(Advertising advertising, MigrationResolver resolver) {
+        return submit(() -> delegate.migrate(advertising, resolver));
+    }
+
+    @Override
+    public CompletableFuture<List<Advertising>> findPageByName(String afterName, String afterId, int limit) {
+        return submit(() -> delegate.findPageByName(afterName, afterId, limit));
+    }
+}
@@ -0,0 +1,25 @@
+package org.nosql.vykhryst.dao.async;
+
+import org.nosql.vykhryst.dao.entityDao.AsyncCategoryDAO;
+import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
+import org.nosql.vykhryst.entity.Category;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ExecutorAsyncCategoryDAO extends ExecutorAsyncDAO<Category, CategoryDAO> implements AsyncCategoryDAO {
+
+    public ExecutorAsyncCategoryDAO(CategoryDAO delegate, DaoExecutor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Category> findByName(String name) {
+        return submit(() -> delegate.findByName(name));
+    }
+
+    @Override
+    public CompletableFuture<List<Category>> findPageByName(String afterName, String afterId, int limit) {
+        return submit(() -> delegate.findPageByName(afterName, afterId, limit));
+    }
+}
@@ -0,0 +1,36 @@
+package org.nosql.vykhryst.dao.async;
+
+import org.nosql.vykhryst.dao.entityDao.AsyncClientDAO;
+import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.entity.Client;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class ExecutorAsyncClientDAO extends ExecutorAsyncDAO<Client, ClientDAO> implements AsyncClientDAO {
+
+    public ExecutorAsyncClientDAO(ClientDAO delegate, DaoExecutor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Client>> findByUsername(String username) {
+        return submit(() -> delegate.findByUsername(username));
+    }
+
+    @Override
+    public CompletableFuture<Long> deleteClientAndPrograms(long id) {
+        return submit(() -> delegate.deleteClientAndPrograms(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Client>> findByEmailAndPassword(String email, String password) {
+        return submit(() -> delegate.findByEmailAndPassword(email, password));
+    }
+
+    @Override
+    public CompletableFuture<List<Client>> findPageByUsername(String afterUsername, String afterId, int limit) {
+        return submit(() -> delegate.findPageByUsername(afterUsername, afterId, limit));
+    }
+}
@@ -0,0 +1,63 @@
+package org.nosql.vykhryst.dao.async;
+
+import org.nosql.vykhryst.dao.AsyncDAO;
+import org.nosql.vykhryst.dao.DAO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncDAO} that runs each call of a blocking {@link DAO} on its backend's {@link DaoExecutor}.
+ */
+public class ExecutorAsyncDAO<T, D extends DAO<T>> implements AsyncDAO<T> {
+
+    protected final D delegate;
+    private final DaoExecutor executor;
+
+    public ExecutorAsyncDAO(D delegate, DaoExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    protected <R> CompletableFuture<R> submit(Supplier<R> call) {
+        return executor.submit(call);
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> findById(String id) {
+        return submit(() -> delegate.findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAll() {
+        return submit(delegate::findAll);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findPage(String afterId, int limit) {
+        return submit(() -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<String> save(T entity) {
+        return submit(() -> delegate.save(entity));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> saveAll(Collection<T> entities, int chunkSize) {
+        return submit(() -> delegate.saveAll(entities, chunkSize));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(T entity) {
+        return submit(() -> delegate.update(entity));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String id) {
+        return submit(() -> delegate.delete(id));
+    }
+}
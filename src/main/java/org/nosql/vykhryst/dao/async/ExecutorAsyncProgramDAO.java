@@ -0,0 +1,37 @@
+package org.nosql.vykhryst.dao.async;
+
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.dao.entityDao.AsyncProgramDAO;
+import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Program;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class ExecutorAsyncProgramDAO extends ExecutorAsyncDAO<Program, ProgramDAO> implements AsyncProgramDAO {
+
+    public ExecutorAsyncProgramDAO(ProgramDAO delegate, DaoExecutor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveAdvertisingToProgram(String programId, Map<Advertising, Integer> advertising) {
+        return submit(() -> delegate.saveAdvertisingToProgram(programId, advertising));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateAdvertisingQuantity(String programId, String advertisingId, int quantity) {
+        return submit(() -> delegate.updateAdvertisingQuantity(programId, advertisingId, quantity));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAdvertisingFromProgram(String programId, String advertisingId) {
+        return submit(() -> delegate.deleteAdvertisingFromProgram(programId, advertisingId));
+    }
+
+    @Override
+    public CompletableFuture<String> migrate(Program program, MigrationResolver resolver) {
+        return submit(() -> delegate.migrate(program, resolver));
+    }
+}
@@ -0,0 +1,22 @@
+package org.nosql.vykhryst.dao.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class CacheConfig {
+    private final boolean enabled;
+    private final int maxSize;
+    private final Duration ttl;
+
+    public static CacheConfig fromProperties() {
+        return new CacheConfig(
+                Boolean.parseBoolean(PropertiesManager.getProperty("dao.cache.enabled", "false")),
+                Integer.parseInt(PropertiesManager.getProperty("dao.cache.maxSize", "10000")),
+                Duration.ofSeconds(Long.parseLong(PropertiesManager.getProperty("dao.cache.ttlSeconds", "300"))));
+    }
+}
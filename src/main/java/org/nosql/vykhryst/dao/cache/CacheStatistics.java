@@ -0,0 +1,21 @@
+package org.nosql.vykhryst.dao.cache;
+
+import lombok.Value;
+
+/**
+ * Point-in-time snapshot of one {@link EntityCache}.
+ */
+@Value
+public class CacheStatistics {
+    String name;
+    int size;
+    long hits;
+    long misses;
+    long evictions;
+    long expirations;
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
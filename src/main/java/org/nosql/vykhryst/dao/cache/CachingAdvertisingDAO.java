@@ -0,0 +1,60 @@
+package org.nosql.vykhryst.dao.cache;
+
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.AdvertisingView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Advertising embeds its category, so a renamed category shows up here only once the entry expires.
+ */
+public class CachingAdvertisingDAO extends CachingDAO<Advertising, AdvertisingDAO> implements AdvertisingDAO {
+
+    private final EntityCache<String, Advertising> byName;
+
+    public CachingAdvertisingDAO(AdvertisingDAO delegate, EntityCache<String, Advertising> byId, EntityCache<String, Advertising> byName) {
+        super(delegate, byId, CachingAdvertisingDAO::copyOf);
+        this.byName = byName;
+    }
+
+    @Override
+    public Optional<Advertising> findByName(String name) {
+        return Optional.ofNullable(byName.get(name, key -> delegate.findByName(key).map(copy).orElse(null))).map(copy);
+    }
+
+    @Override
+    public Stream<AdvertisingView> streamViews() {
+        return delegate.streamViews();
+    }
+
+    @Override
+    public String migrate(Advertising advertising, MigrationResolver resolver) {
+        return delegate.migrate(advertising, resolver);
+    }
+
+    @Override
+    public List<Advertising> findPageByName(String afterName, String afterId, int limit) {
+        return delegate.findPageByName(afterName, afterId, limit);
+    }
+
+    @Override
+    protected String idOf(Advertising advertising) {
+        return advertising.getId();
+    }
+
+    @Override
+    protected void invalidateLookups() {
+        byName.invalidateAll();
+    }
+
+    private static Advertising copyOf(Advertising advertising) {
+        return new Advertising(advertising.getId(),
+                advertising.getCategory() != null ? CachingCategoryDAO.copyOf(advertising.getCategory()) : null,
+                advertising.getName(), advertising.getMeasurement(), advertising.getUnitPrice(),
+                advertising.getDescription(), advertising.getUpdatedAt());
+    }
+}
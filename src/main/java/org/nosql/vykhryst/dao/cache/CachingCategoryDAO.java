@@ -0,0 +1,44 @@
+package org.nosql.vykhryst.dao.cache;
+
+import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
+import org.nosql.vykhryst.entity.Category;
+
+import java.util.List;
+
+public class CachingCategoryDAO extends CachingDAO<Category, CategoryDAO> implements CategoryDAO {
+
+    private final EntityCache<String, Category> byName;
+
+    public CachingCategoryDAO(CategoryDAO delegate, EntityCache<String, Category> byId, EntityCache<String, Category> byName) {
+        super(delegate, byId, CachingCategoryDAO::copyOf);
+        this.byName = byName;
+    }
+
+    @Override
+    public Category findByName(String name) {
+        Category category = byName.get(name, key -> {
+            Category loaded = delegate.findByName(key);
+            return loaded != null ? copyOf(loaded) : null;
+        });
+        return category != null ? copyOf(category) : null;
+    }
+
+    @Override
+    public List<Category> findPageByName(String afterName, String afterId, int limit) {
+        return delegate.findPageByName(afterName, afterId, limit);
+    }
+
+    @Override
+    protected String idOf(Category category) {
+        return category.getId();
+    }
+
+    @Override
+    protected void invalidateLookups() {
+        byName.invalidateAll();
+    }
+
+    static Category copyOf(Category category) {
+        return new Category(category.getId(), category.getName());
+    }
+}
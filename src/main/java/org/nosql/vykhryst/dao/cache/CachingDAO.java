@@ -0,0 +1,84 @@
+package org.nosql.vykhryst.dao.cache;
+
+import org.nosql.vykhryst.dao.DAO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of a {@link DAO}: {@code findById} is served from an {@link EntityCache},
+ * {@code update} and {@code delete} invalidate it after the write. Scans and inserts go straight to the delegate.
+ * Entities are mutable, so the cache keeps its own copies and hands out fresh ones.
+ */
+public abstract class CachingDAO<T, D extends DAO<T>> implements DAO<T> {
+
+    protected final D delegate;
+    private final EntityCache<String, T> byId;
+    protected final UnaryOperator<T> copy;
+
+    protected CachingDAO(D delegate, EntityCache<String, T> byId, UnaryOperator<T> copy) {
+        this.delegate = delegate;
+        this.byId = byId;
+        this.copy = copy;
+    }
+
+    protected abstract String idOf(T entity);
+
+    /**
+     * Drops secondary lookups (by name etc.) that may still point at a changed or deleted entity.
+     */
+    protected abstract void invalidateLookups();
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(byId.get(id, key -> delegate.findById(key).map(copy).orElse(null))).map(copy);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<T> findPage(String afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public String save(T entity) {
+        return delegate.save(entity);
+    }
+
+    @Override
+    public List<String> saveAll(Collection<T> entities, int chunkSize) {
+        return delegate.saveAll(entities, chunkSize);
+    }
+
+    @Override
+    public boolean update(T entity) {
+        try {
+            return delegate.update(entity);
+        } finally {
+            byId.invalidate(idOf(entity));
+            invalidateLookups();
+        }
+    }
+
+    @Override
+    public boolean delete(String id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            byId.invalidate(id);
+            invalidateLookups();
+        }
+    }
+}
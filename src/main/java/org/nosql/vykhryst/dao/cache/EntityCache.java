@@ -0,0 +1,136 @@
+package org.nosql.vykhryst.dao.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU map with a time-to-live per entry. Loads run outside the lock; a load that overlaps an
+ * invalidation is returned to its caller but not cached, so a stale row can't outlive the write that replaced it.
+ * Absent values ({@code null}) are never cached.
+ */
+public class EntityCache<K, V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public EntityCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt() < 0) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * {@link #get} for several keys, loading all the missing ones with one {@code loader} call. Keys the loader
+     * returns no value for are absent from the result.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (K key : keys) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null) {
+                    if (now - entry.expiresAt() < 0) {
+                        hits.increment();
+                        result.put(key, entry.value());
+                        continue;
+                    }
+                    entries.remove(key);
+                    expirations.increment();
+                }
+                missing.add(key);
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.add(missing.size());
+        Map<K, V> loaded = loader.apply(missing);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                long expiresAt = System.nanoTime() + ttlNanos;
+                loaded.forEach((key, value) -> {
+                    if (value != null) {
+                        entries.put(key, new Entry<>(value, expiresAt));
+                    }
+                });
+            }
+        }
+        loaded.forEach((key, value) -> {
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(name, entries.size(), hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
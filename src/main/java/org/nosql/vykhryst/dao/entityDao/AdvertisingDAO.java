@@ -2,12 +2,36 @@ package org.nosql.vykhryst.dao.entityDao;
 
 
 import org.nosql.vykhryst.dao.DAO;
+import org.nosql.vykhryst.dao.MigrationResolver;
 import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.AdvertisingView;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AdvertisingDAO extends DAO<Advertising> {
     Optional<Advertising> findByName(String name);
 
-    String migrate(Advertising advertising);
+    /**
+     * Keyset page ordered by name, then id; pass the name and id of the previous page's last advertising,
+     * or {@code null}s for the first page.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    List<Advertising> findPageByName(String afterName, String afterId, int limit);
+
+    /**
+     * Streams only id, name, category name and unit price of every advertising; closing the stream releases the cursor.
+     */
+    Stream<AdvertisingView> streamViews();
+
+    default String migrate(Advertising advertising) {
+        return migrate(advertising, new MigrationResolver());
+    }
+
+    /**
+     * Inserts an advertising read from the other backend, resolving its category by name through {@code resolver}.
+     */
+    String migrate(Advertising advertising, MigrationResolver resolver);
 }
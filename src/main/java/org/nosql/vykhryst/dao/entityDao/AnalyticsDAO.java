@@ -0,0 +1,28 @@
+package org.nosql.vykhryst.dao.entityDao;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * The five reporting queries, computed by the backend itself (aggregation pipelines in MongoDB, {@code GROUP BY} in MySQL),
+ * so both engines can be run on the same data and their results compared.
+ */
+public interface AnalyticsDAO {
+
+    // Запит 1: кількість рекламних об'єктів у кожній категорії
+    Map<String, Integer> countAdsPerCategory();
+
+    // Запит 2: середня вартість рекламних об'єктів у кожній категорії
+    Map<String, Double> averageAdPricePerCategory();
+
+    // Запит 3: вартість кожної рекламної кампанії
+    Map<String, BigDecimal> calculateProgramCost();
+
+    // Запит 4: рекламні об'єкти з вартістю в діапазоні [minPrice, maxPrice]
+    Map<String, BigDecimal> getAdsInPriceRange(int minPrice, int maxPrice);
+
+    /**
+     * Запит 5: the {@code limit} categories used by the most line items, most popular first; ties are ordered by name.
+     */
+    Map<String, Integer> getMostPopularAdCategories(int limit);
+}
@@ -0,0 +1,17 @@
+package org.nosql.vykhryst.dao.entityDao;
+
+import org.nosql.vykhryst.dao.AsyncDAO;
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.entity.Advertising;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncAdvertisingDAO extends AsyncDAO<Advertising> {
+    CompletableFuture<Optional<Advertising>> findByName(String name);
+
+    CompletableFuture<List<Advertising>> findPageByName(String afterName, String afterId, int limit);
+
+    CompletableFuture<String> migrate(Advertising advertising, MigrationResolver resolver);
+}
@@ -0,0 +1,13 @@
+package org.nosql.vykhryst.dao.entityDao;
+
+import org.nosql.vykhryst.dao.AsyncDAO;
+import org.nosql.vykhryst.entity.Category;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCategoryDAO extends AsyncDAO<Category> {
+    CompletableFuture<Category> findByName(String name);
+
+    CompletableFuture<List<Category>> findPageByName(String afterName, String afterId, int limit);
+}
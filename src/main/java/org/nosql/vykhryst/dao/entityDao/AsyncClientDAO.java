@@ -0,0 +1,18 @@
+package org.nosql.vykhryst.dao.entityDao;
+
+import org.nosql.vykhryst.dao.AsyncDAO;
+import org.nosql.vykhryst.entity.Client;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncClientDAO extends AsyncDAO<Client> {
+    CompletableFuture<Optional<Client>> findByUsername(String username);
+
+    CompletableFuture<List<Client>> findPageByUsername(String afterUsername, String afterId, int limit);
+
+    CompletableFuture<Long> deleteClientAndPrograms(long id);
+
+    CompletableFuture<List<Client>> findByEmailAndPassword(String email, String password);
+}
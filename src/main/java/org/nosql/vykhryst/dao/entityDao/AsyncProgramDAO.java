@@ -0,0 +1,19 @@
+package org.nosql.vykhryst.dao.entityDao;
+
+import org.nosql.vykhryst.dao.AsyncDAO;
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Program;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncProgramDAO extends AsyncDAO<Program> {
+    CompletableFuture<Boolean> saveAdvertisingToProgram(String programId, Map<Advertising, Integer> advertising);
+
+    CompletableFuture<Boolean> updateAdvertisingQuantity(String programId, String advertisingId, int quantity);
+
+    CompletableFuture<Boolean> deleteAdvertisingFromProgram(String programId, String advertisingId);
+
+    CompletableFuture<String> migrate(Program program, MigrationResolver resolver);
+}
@@ -3,6 +3,16 @@ package org.nosql.vykhryst.dao.entityDao;
 import org.nosql.vykhryst.dao.DAO;
 import org.nosql.vykhryst.entity.Category;
 
+import java.util.List;
+
 public interface CategoryDAO extends DAO<Category> {
     Category findByName(String name);
+
+    /**
+     * Keyset page ordered by name, then id; pass the name and id of the previous page's last category,
+     * or {@code null}s for the first page.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    List<Category> findPageByName(String afterName, String afterId, int limit);
 }
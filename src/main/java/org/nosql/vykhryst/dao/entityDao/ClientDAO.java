@@ -9,6 +9,15 @@ import java.util.Optional;
 
 public interface ClientDAO extends DAO<Client> {
     Optional<Client> findByUsername(String username);
+
+    /**
+     * Keyset page ordered by username, then id; pass the username and id of the previous page's last client,
+     * or {@code null}s for the first page.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    List<Client> findPageByUsername(String afterUsername, String afterId, int limit);
+
     long deleteClientAndPrograms(long id);
     public List<Client> findByEmailAndPassword(String email, String password);
 }
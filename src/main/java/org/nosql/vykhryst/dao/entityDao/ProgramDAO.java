@@ -2,16 +2,40 @@ package org.nosql.vykhryst.dao.entityDao;
 
 
 import org.nosql.vykhryst.dao.DAO;
+import org.nosql.vykhryst.dao.MigrationResolver;
 import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.LineItemView;
 import org.nosql.vykhryst.entity.Program;
 
 import java.util.Map;
+import java.util.stream.Stream;
 
 
 public interface ProgramDAO extends DAO<Program> {
 
+    /**
+     * Adds each advertising to the program with its quantity; an advertising the program already has gets the new quantity.
+     */
     boolean saveAdvertisingToProgram(String programId, Map<Advertising, Integer> advertising);
+
+    /**
+     * Sets the quantity of one line item; returns {@code false} if the program has no such advertising.
+     */
+    boolean updateAdvertisingQuantity(String programId, String advertisingId, int quantity);
+
     boolean deleteAdvertisingFromProgram(String programId, String advertisingId);
 
-    String migrate(Program program);
+    /**
+     * Streams every line item of every program without reading clients or descriptions; closing the stream releases the cursor.
+     */
+    Stream<LineItemView> streamLineItems();
+
+    default String migrate(Program program) {
+        return migrate(program, new MigrationResolver());
+    }
+
+    /**
+     * Inserts a program read from the other backend, resolving its client and advertising through {@code resolver}.
+     */
+    String migrate(Program program, MigrationResolver resolver);
 }
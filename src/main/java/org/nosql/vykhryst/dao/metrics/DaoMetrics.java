@@ -0,0 +1,48 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.util.DBException;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link MethodMetrics}, one per DAO implementation and method. Each is published once as
+ * {@code org.nosql.vykhryst:type=DaoMetrics,dao=<DAO class>,method=<method>} on the platform MBean server.
+ */
+public class DaoMetrics {
+
+    private static final String DOMAIN = "org.nosql.vykhryst";
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public MethodMetrics method(String dao, String method) {
+        return methods.computeIfAbsent(dao + "." + method, key -> register(new MethodMetrics(dao, method), dao, method));
+    }
+
+    public List<MethodMetricsSnapshot> snapshot() {
+        return methods.values().stream()
+                .map(MethodMetrics::snapshot)
+                .sorted(Comparator.comparing(MethodMetricsSnapshot::getDao).thenComparing(MethodMetricsSnapshot::getMethod))
+                .toList();
+    }
+
+    private static MethodMetrics register(MethodMetrics metrics, String dao, String method) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=DaoMetrics,dao=" + dao + ",method=" + method);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(metrics, name);
+        } catch (JMException e) {
+            throw new DBException("Can't register DAO metrics MBean for " + dao + "." + method, e);
+        }
+        return metrics;
+    }
+}
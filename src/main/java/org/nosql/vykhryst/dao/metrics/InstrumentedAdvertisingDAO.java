@@ -0,0 +1,78 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.AdvertisingView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class InstrumentedAdvertisingDAO extends InstrumentedDAO<Advertising, AdvertisingDAO> implements AdvertisingDAO {
+
+    private final MethodMetrics findByName;
+    private final MethodMetrics streamViews;
+    private final MethodMetrics migrate;
+    private final MethodMetrics findPageByName;
+
+    public InstrumentedAdvertisingDAO(AdvertisingDAO delegate, DaoMetrics metrics) {
+        super(delegate, metrics);
+        this.findByName = metrics.method(daoName, "findByName");
+        this.streamViews = metrics.method(daoName, "streamViews");
+        this.migrate = metrics.method(daoName, "migrate");
+        this.findPageByName = metrics.method(daoName, "findPageByName");
+    }
+
+    @Override
+    public Optional<Advertising> findByName(String name) {
+        long start = findByName.start();
+        try {
+            return delegate.findByName(name);
+        } catch (RuntimeException e) {
+            findByName.failed();
+            throw e;
+        } finally {
+            findByName.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<AdvertisingView> streamViews() {
+        long start = streamViews.start();
+        try {
+            return delegate.streamViews();
+        } catch (RuntimeException e) {
+            streamViews.failed();
+            throw e;
+        } finally {
+            streamViews.stop(start);
+        }
+    }
+
+    @Override
+    public String migrate(Advertising advertising, MigrationResolver resolver) {
+        long start = migrate.start();
+        try {
+            return delegate.migrate(advertising, resolver);
+        } catch (RuntimeException e) {
+            migrate.failed();
+            throw e;
+        } finally {
+            migrate.stop(start);
+        }
+    }
+
+    @Override
+    public List<Advertising> findPageByName(String afterName, String afterId, int limit) {
+        long start = findPageByName.start();
+        try {
+            return delegate.findPageByName(afterName, afterId, limit);
+        } catch (RuntimeException e) {
+            findPageByName.failed();
+            throw e;
+        } finally {
+            findPageByName.stop(start);
+        }
+    }
+}
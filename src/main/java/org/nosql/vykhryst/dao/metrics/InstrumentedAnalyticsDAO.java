@@ -0,0 +1,91 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class InstrumentedAnalyticsDAO implements AnalyticsDAO {
+
+    private final AnalyticsDAO delegate;
+    private final MethodMetrics countAdsPerCategory;
+    private final MethodMetrics averageAdPricePerCategory;
+    private final MethodMetrics calculateProgramCost;
+    private final MethodMetrics getAdsInPriceRange;
+    private final MethodMetrics getMostPopularAdCategories;
+
+    public InstrumentedAnalyticsDAO(AnalyticsDAO delegate, DaoMetrics metrics) {
+        this.delegate = delegate;
+        String daoName = delegate.getClass().getSimpleName();
+        this.countAdsPerCategory = metrics.method(daoName, "countAdsPerCategory");
+        this.averageAdPricePerCategory = metrics.method(daoName, "averageAdPricePerCategory");
+        this.calculateProgramCost = metrics.method(daoName, "calculateProgramCost");
+        this.getAdsInPriceRange = metrics.method(daoName, "getAdsInPriceRange");
+        this.getMostPopularAdCategories = metrics.method(daoName, "getMostPopularAdCategories");
+    }
+
+    @Override
+    public Map<String, Integer> countAdsPerCategory() {
+        long start = countAdsPerCategory.start();
+        try {
+            return delegate.countAdsPerCategory();
+        } catch (RuntimeException e) {
+            countAdsPerCategory.failed();
+            throw e;
+        } finally {
+            countAdsPerCategory.stop(start);
+        }
+    }
+
+    @Override
+    public Map<String, Double> averageAdPricePerCategory() {
+        long start = averageAdPricePerCategory.start();
+        try {
+            return delegate.averageAdPricePerCategory();
+        } catch (RuntimeException e) {
+            averageAdPricePerCategory.failed();
+            throw e;
+        } finally {
+            averageAdPricePerCategory.stop(start);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> calculateProgramCost() {
+        long start = calculateProgramCost.start();
+        try {
+            return delegate.calculateProgramCost();
+        } catch (RuntimeException e) {
+            calculateProgramCost.failed();
+            throw e;
+        } finally {
+            calculateProgramCost.stop(start);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> getAdsInPriceRange(int minPrice, int maxPrice) {
+        long start = getAdsInPriceRange.start();
+        try {
+            return delegate.getAdsInPriceRange(minPrice, maxPrice);
+        } catch (RuntimeException e) {
+            getAdsInPriceRange.failed();
+            throw e;
+        } finally {
+            getAdsInPriceRange.stop(start);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getMostPopularAdCategories(int limit) {
+        long start = getMostPopularAdCategories.start();
+        try {
+            return delegate.getMostPopularAdCategories(limit);
+        } catch (RuntimeException e) {
+            getMostPopularAdCategories.failed();
+            throw e;
+        } finally {
+            getMostPopularAdCategories.stop(start);
+        }
+    }
+}
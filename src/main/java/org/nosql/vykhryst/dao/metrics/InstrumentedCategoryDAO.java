@@ -0,0 +1,44 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
+import org.nosql.vykhryst.entity.Category;
+
+import java.util.List;
+
+public class InstrumentedCategoryDAO extends InstrumentedDAO<Category, CategoryDAO> implements CategoryDAO {
+
+    private final MethodMetrics findByName;
+    private final MethodMetrics findPageByName;
+
+    public InstrumentedCategoryDAO(CategoryDAO delegate, DaoMetrics metrics) {
+        super(delegate, metrics);
+        this.findByName = metrics.method(daoName, "findByName");
+        this.findPageByName = metrics.method(daoName, "findPageByName");
+    }
+
+    @Override
+    public Category findByName(String name) {
+        long start = findByName.start();
+        try {
+            return delegate.findByName(name);
+        } catch (RuntimeException e) {
+            findByName.failed();
+            throw e;
+        } finally {
+            findByName.stop(start);
+        }
+    }
+
+    @Override
+    public List<Category> findPageByName(String afterName, String afterId, int limit) {
+        long start = findPageByName.start();
+        try {
+            return delegate.findPageByName(afterName, afterId, limit);
+        } catch (RuntimeException e) {
+            findPageByName.failed();
+            throw e;
+        } finally {
+            findPageByName.stop(start);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.entity.Client;
+
+import java.util.List;
+import java.util.Optional;
+
+public class InstrumentedClientDAO extends InstrumentedDAO<Client, ClientDAO> implements ClientDAO {
+
+    private final MethodMetrics findByUsername;
+    private final MethodMetrics deleteClientAndPrograms;
+    private final MethodMetrics findByEmailAndPassword;
+    private final MethodMetrics findPageByUsername;
+
+    public InstrumentedClientDAO(ClientDAO delegate, DaoMetrics metrics) {
+        super(delegate, metrics);
+        this.findByUsername = metrics.method(daoName, "findByUsername");
+        this.deleteClientAndPrograms = metrics.method(daoName, "deleteClientAndPrograms");
+        this.findByEmailAndPassword = metrics.method(daoName, "findByEmailAndPassword");
+        this.findPageByUsername = metrics.method(daoName, "findPageByUsername");
+    }
+
+    @Override
+    public Optional<Client> findByUsername(String username) {
+        long start = findByUsername.start();
+        try {
+            return delegate.findByUsername(username);
+        } catch (RuntimeException e) {
+            findByUsername.failed();
+            throw e;
+        } finally {
+            findByUsername.stop(start);
+        }
+    }
+
+    @Override
+    public long deleteClientAndPrograms(long id) {
+        long start = deleteClientAndPrograms.start();
+        try {
+            return delegate.deleteClientAndPrograms(id);
+        } catch (RuntimeException e) {
+            deleteClientAndPrograms.failed();
+            throw e;
+        } finally {
+            deleteClientAndPrograms.stop(start);
+        }
+    }
+
+    @Override
+    public List<Client> findByEmailAndPassword(String email, String password) {
+        long start = findByEmailAndPassword.start();
+        try {
+            return delegate.findByEmailAndPassword(email, password);
+        } catch (RuntimeException e) {
+            findByEmailAndPassword.failed();
+            throw e;
+        } finally {
+            findByEmailAndPassword.stop(start);
+        }
+    }
+
+    @Override
+    public List<Client> findPageByUsername(String afterUsername, String afterId, int limit) {
+        long start = findPageByUsername.start();
+        try {
+            return delegate.findPageByUsername(afterUsername, afterId, limit);
+        } catch (RuntimeException e) {
+            findPageByUsername.failed();
+            throw e;
+        } finally {
+            findPageByUsername.stop(start);
+        }
+    }
+}
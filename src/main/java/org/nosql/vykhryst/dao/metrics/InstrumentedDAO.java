@@ -0,0 +1,144 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.dao.DAO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorator recording count, errors and latency of every {@link DAO} call in {@link DaoMetrics} under the
+ * delegate's class name. Metrics are looked up once per decorator, so a call costs two {@code nanoTime()} reads
+ * and no allocation. {@code streamAll} measures opening the stream, not consuming it.
+ */
+public class InstrumentedDAO<T, D extends DAO<T>> implements DAO<T> {
+
+    protected final D delegate;
+    protected final String daoName;
+    private final MethodMetrics findById;
+    private final MethodMetrics findAll;
+    private final MethodMetrics streamAll;
+    private final MethodMetrics save;
+    private final MethodMetrics saveAll;
+    private final MethodMetrics update;
+    private final MethodMetrics delete;
+    private final MethodMetrics findPage;
+
+    public InstrumentedDAO(D delegate, DaoMetrics metrics) {
+        this.delegate = delegate;
+        this.daoName = delegate.getClass().getSimpleName();
+        this.findById = metrics.method(daoName, "findById");
+        this.findAll = metrics.method(daoName, "findAll");
+        this.streamAll = metrics.method(daoName, "streamAll");
+        this.save = metrics.method(daoName, "save");
+        this.saveAll = metrics.method(daoName, "saveAll");
+        this.update = metrics.method(daoName, "update");
+        this.delete = metrics.method(daoName, "delete");
+        this.findPage = metrics.method(daoName, "findPage");
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        long start = findById.start();
+        try {
+            return delegate.findById(id);
+        } catch (RuntimeException e) {
+            findById.failed();
+            throw e;
+        } finally {
+            findById.stop(start);
+        }
+    }
+
+    @Override
+    public List<T> findAll() {
+        long start = findAll.start();
+        try {
+            return delegate.findAll();
+        } catch (RuntimeException e) {
+            findAll.failed();
+            throw e;
+        } finally {
+            findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        long start = streamAll.start();
+        try {
+            return delegate.streamAll();
+        } catch (RuntimeException e) {
+            streamAll.failed();
+            throw e;
+        } finally {
+            streamAll.stop(start);
+        }
+    }
+
+    @Override
+    public String save(T entity) {
+        long start = save.start();
+        try {
+            return delegate.save(entity);
+        } catch (RuntimeException e) {
+            save.failed();
+            throw e;
+        } finally {
+            save.stop(start);
+        }
+    }
+
+    @Override
+    public List<String> saveAll(Collection<T> entities, int chunkSize) {
+        long start = saveAll.start();
+        try {
+            return delegate.saveAll(entities, chunkSize);
+        } catch (RuntimeException e) {
+            saveAll.failed();
+            throw e;
+        } finally {
+            saveAll.stop(start);
+        }
+    }
+
+    @Override
+    public boolean update(T entity) {
+        long start = update.start();
+        try {
+            return delegate.update(entity);
+        } catch (RuntimeException e) {
+            update.failed();
+            throw e;
+        } finally {
+            update.stop(start);
+        }
+    }
+
+    @Override
+    public boolean delete(String id) {
+        long start = delete.start();
+        try {
+            return delegate.delete(id);
+        } catch (RuntimeException e) {
+            delete.failed();
+            throw e;
+        } finally {
+            delete.stop(start);
+        }
+    }
+
+    @Override
+    public List<T> findPage(String afterId, int limit) {
+        long start = findPage.start();
+        try {
+            return delegate.findPage(afterId, limit);
+        } catch (RuntimeException e) {
+            findPage.failed();
+            throw e;
+        } finally {
+            findPage.stop(start);
+        }
+    }
+}
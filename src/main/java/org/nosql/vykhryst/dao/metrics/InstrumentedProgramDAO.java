@@ -0,0 +1,93 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.LineItemView;
+import org.nosql.vykhryst.entity.Program;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class InstrumentedProgramDAO extends InstrumentedDAO<Program, ProgramDAO> implements ProgramDAO {
+
+    private final MethodMetrics saveAdvertisingToProgram;
+    private final MethodMetrics updateAdvertisingQuantity;
+    private final MethodMetrics deleteAdvertisingFromProgram;
+    private final MethodMetrics streamLineItems;
+    private final MethodMetrics migrate;
+
+    public InstrumentedProgramDAO(ProgramDAO delegate, DaoMetrics metrics) {
+        super(delegate, metrics);
+        this.saveAdvertisingToProgram = metrics.method(daoName, "saveAdvertisingToProgram");
+        this.updateAdvertisingQuantity = metrics.method(daoName, "updateAdvertisingQuantity");
+        this.deleteAdvertisingFromProgram = metrics.method(daoName, "deleteAdvertisingFromProgram");
+        this.streamLineItems = metrics.method(daoName, "streamLineItems");
+        this.migrate = metrics.method(daoName, "migrate");
+    }
+
+    @Override
+    public boolean saveAdvertisingToProgram(String programId, Map<Advertising, Integer> advertising) {
+        long start = saveAdvertisingToProgram.start();
+        try {
+            return delegate.saveAdvertisingToProgram(programId, advertising);
+        } catch (RuntimeException e) {
+            saveAdvertisingToProgram.failed();
+            throw e;
+        } finally {
+            saveAdvertisingToProgram.stop(start);
+        }
+    }
+
+    @Override
+    public boolean updateAdvertisingQuantity(String programId, String advertisingId, int quantity) {
+        long start = updateAdvertisingQuantity.start();
+        try {
+            return delegate.updateAdvertisingQuantity(programId, advertisingId, quantity);
+        } catch (RuntimeException e) {
+            updateAdvertisingQuantity.failed();
+            throw e;
+        } finally {
+            updateAdvertisingQuantity.stop(start);
+        }
+    }
+
+    @Override
+    public boolean deleteAdvertisingFromProgram(String programId, String advertisingId) {
+        long start = deleteAdvertisingFromProgram.start();
+        try {
+            return delegate.deleteAdvertisingFromProgram(programId, advertisingId);
+        } catch (RuntimeException e) {
+            deleteAdvertisingFromProgram.failed();
+            throw e;
+        } finally {
+            deleteAdvertisingFromProgram.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<LineItemView> streamLineItems() {
+        long start = streamLineItems.start();
+        try {
+            return delegate.streamLineItems();
+        } catch (RuntimeException e) {
+            streamLineItems.failed();
+            throw e;
+        } finally {
+            streamLineItems.stop(start);
+        }
+    }
+
+    @Override
+    public String migrate(Program program, MigrationResolver resolver) {
+        long start = migrate.start();
+        try {
+            return delegate.migrate(program, resolver);
+        } catch (RuntimeException e) {
+            migrate.failed();
+            throw e;
+        } finally {
+            migrate.stop(start);
+        }
+    }
+}
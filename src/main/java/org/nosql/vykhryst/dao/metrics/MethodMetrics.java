@@ -0,0 +1,100 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of one DAO method.
+ * Recording is wait-free and allocation-free: two {@link LongAdder}s and a {@link ConcurrentHistogram}
+ * with a fixed range, so the decorators can stay enabled permanently. Only reads copy the histogram.
+ */
+public class MethodMetrics implements MethodMetricsMBean {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String dao;
+    private final String method;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+
+    public MethodMetrics(String dao, String method) {
+        this.dao = dao;
+        this.method = method;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void failed() {
+        errors.increment();
+    }
+
+    public void stop(long start) {
+        calls.increment();
+        latencies.recordValue(Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    public MethodMetricsSnapshot snapshot() {
+        Histogram copy = latencies.copy();
+        return new MethodMetricsSnapshot(dao, method, calls.sum(), errors.sum(), millis(copy.getMean()),
+                millis(copy.getValueAtPercentile(50)), millis(copy.getValueAtPercentile(90)),
+                millis(copy.getValueAtPercentile(99)), millis(copy.getValueAtPercentile(99.9)), millis(copy.getMaxValue()));
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return millis(latencies.getMean());
+    }
+
+    @Override
+    public double getP50Millis() {
+        return millis(latencies.getValueAtPercentile(50));
+    }
+
+    @Override
+    public double getP90Millis() {
+        return millis(latencies.getValueAtPercentile(90));
+    }
+
+    @Override
+    public double getP99Millis() {
+        return millis(latencies.getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getP999Millis() {
+        return millis(latencies.getValueAtPercentile(99.9));
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return millis(latencies.getMaxValue());
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        latencies.reset();
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1e6;
+    }
+}
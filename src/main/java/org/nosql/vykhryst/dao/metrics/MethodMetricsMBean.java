@@ -0,0 +1,25 @@
+package org.nosql.vykhryst.dao.metrics;
+
+/**
+ * JMX view of one DAO method; latencies are in milliseconds since startup or the last {@link #reset()}.
+ */
+public interface MethodMetricsMBean {
+
+    long getCalls();
+
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
@@ -0,0 +1,20 @@
+package org.nosql.vykhryst.dao.metrics;
+
+import lombok.Value;
+
+/**
+ * Point-in-time copy of {@link MethodMetrics}, e.g. {@code dao = "MongoProgramDAO", method = "findAll"}.
+ */
+@Value
+public class MethodMetricsSnapshot {
+    String dao;
+    String method;
+    long calls;
+    long errors;
+    double meanMillis;
+    double p50Millis;
+    double p90Millis;
+    double p99Millis;
+    double p999Millis;
+    double maxMillis;
+}
@@ -0,0 +1,57 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Chunked unordered {@code insertMany}. The driver assigns {@code _id} to each document before sending it,
+ * so ids can be copied back onto the entities exactly like single inserts do.
+ */
+public final class MongoBatches {
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private MongoBatches() {
+    }
+
+    public static <T> List<String> insertAll(MongoCollection<Document> collection, Collection<T> entities, int chunkSize,
+                                             Function<T, Document> mapper, BiConsumer<T, String> idSetter) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<String> ids = new ArrayList<>(entities.size());
+        List<T> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+        for (T entity : entities) {
+            chunk.add(entity);
+            if (chunk.size() == chunkSize) {
+                insertChunk(collection, chunk, mapper, idSetter, ids);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(collection, chunk, mapper, idSetter, ids);
+        }
+        return ids;
+    }
+
+    private static <T> void insertChunk(MongoCollection<Document> collection, List<T> chunk, Function<T, Document> mapper,
+                                        BiConsumer<T, String> idSetter, List<String> ids) {
+        List<Document> docs = new ArrayList<>(chunk.size());
+        for (T entity : chunk) {
+            docs.add(mapper.apply(entity));
+        }
+        collection.insertMany(docs, UNORDERED);
+        for (int i = 0; i < chunk.size(); i++) {
+            String id = docs.get(i).getObjectId("_id").toString();
+            idSetter.accept(chunk.get(i), id);
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import lombok.Value;
+
+/**
+ * Totals for one command on one collection (e.g. {@code aggregate} on {@code program}) since startup.
+ */
+@Value
+public class MongoCommandStatistics {
+    String command;
+    String collection;
+    long count;
+    long failures;
+    double totalMillis;
+    double maxMillis;
+    long documentsReturned;
+    long replyBytes;
+
+    public double getAverageMillis() {
+        return count == 0 ? 0 : totalMillis / count;
+    }
+}
@@ -7,14 +7,19 @@ import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.nosql.vykhryst.dao.mongodb.codec.EntityCodecProvider;
 import org.nosql.vykhryst.util.PropertiesManager;
 
+import java.util.List;
+
 public class MongoConnectionManager {
 
     private static final String CONNECTION_URL;
     private static final String DATABASE_NAME;
 
     private static final MongoDatabase DATABASE;
+    private static final MongoTelemetry TELEMETRY;
 
     private MongoConnectionManager() {
     }
@@ -25,19 +30,51 @@ public class MongoConnectionManager {
 
         ConnectionString connectionString = new ConnectionString(CONNECTION_URL);
 
+        TELEMETRY = new MongoTelemetry(Long.parseLong(PropertiesManager.getProperty("mongo.slowQuery.thresholdMs", "100")));
+
         // Налаштування для підключення до репліки
-        MongoClientSettings settings = MongoClientSettings.builder()
+        MongoClientSettings.Builder settingsBuilder = MongoClientSettings.builder()
                 .applyConnectionString(connectionString)
-                .build();
+                // Кодеки сутностей, щоб колекції можна було відкривати як MongoCollection<Client> тощо
+                .codecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromProviders(new EntityCodecProvider()),
+                        MongoClientSettings.getDefaultCodecRegistry()));
+        if (Boolean.parseBoolean(PropertiesManager.getProperty("mongo.telemetry.enabled", "true"))) {
+            settingsBuilder.addCommandListener(TELEMETRY)
+                    .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(TELEMETRY));
+        }
+        MongoClientSettings settings = settingsBuilder.build();
 
         // Підключення до репліки
         MongoClient mongoClient = MongoClients.create(settings);
 
         // Отримання бази даних з репліки
         DATABASE = mongoClient.getDatabase(DATABASE_NAME);
+
+        if (Boolean.parseBoolean(PropertiesManager.getProperty("mongo.indexes.bootstrap", "true"))) {
+            MongoIndexes.ensureIndexes(DATABASE);
+        }
     }
 
     public static MongoCollection<Document> getCollection(String collection) {
         return DATABASE.getCollection(collection);
     }
+
+    /**
+     * Typed view of the collection, decoded and encoded by the {@link EntityCodecProvider} codecs.
+     */
+    public static <T> MongoCollection<T> getCollection(String collection, Class<T> type) {
+        return DATABASE.getCollection(collection, type);
+    }
+
+    /**
+     * Per-command and connection checkout statistics; empty when {@code mongo.telemetry.enabled} is false.
+     */
+    public static MongoTelemetry getTelemetry() {
+        return TELEMETRY;
+    }
+
+    public static List<String> findUnindexedQueries() {
+        return MongoIndexes.findUnindexedQueries(DATABASE);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Indexes.ascending;
+import static com.mongodb.client.model.Indexes.compoundIndex;
+import static com.mongodb.client.model.Indexes.descending;
+
+/**
+ * Indexes required by the non-{@code _id} lookups of the Mongo DAOs, and the queries that rely on them.
+ * {@link #ensureIndexes} is called from {@link MongoConnectionManager} at startup; creating an index that
+ * already exists with the same keys and name is a no-op, so it is safe on every start.
+ */
+public final class MongoIndexes {
+
+    private static final Map<String, List<IndexModel>> INDEXES = new LinkedHashMap<>();
+    private static final Map<String, Check> CHECKS = new LinkedHashMap<>();
+
+    static {
+        // _id second for the keyset pages ordered by username; the prefix still serves findByUsername
+        index("client", ascending("username", "_id"), "username_id");
+        index("client", ascending("email", "password"), "email_password");
+        // name first, so findByName uses the prefix; also serves findByNameAndUnitPrice and migration lookups
+        index("advertising", ascending("name", "measurement", "unitPrice"), "name_measurement_unitPrice");
+        index("advertising", ascending("name", "_id"), "name_id");
+        index("category", ascending("name", "_id"), "name_id");
+        index("program", ascending("client._id"), "client_id");
+        index("program", ascending("advertisingList.advertising._id"), "advertisingList_advertising_id");
+        index("category_popularity", compoundIndex(descending("count"), ascending("_id")), "count_id");
+
+        check("MongoClientDAO.findByUsername", "client", new Document("username", ""));
+        check("MongoClientDAO.findByEmailAndPassword", "client", new Document("email", "").append("password", ""));
+        check("MongoAdvertisingDAO.findByName", "advertising", new Document("name", ""));
+        check("MongoAdvertisingDAO.findByNameAndUnitPrice", "advertising",
+                new Document("name", "").append("unitPrice", new Decimal128(BigDecimal.ONE)));
+        check("MongoProgramDAO.findAdvertisingIdByMultipleKeys", "advertising",
+                new Document("name", "").append("measurement", "").append("unitPrice", new Decimal128(BigDecimal.ONE)));
+        check("MongoCategoryDAO.findByName", "category", new Document("name", ""));
+        check("program by client", "program", new Document("client._id", new ObjectId()));
+        check("program by advertising", "program", new Document("advertisingList.advertising._id", new ObjectId()));
+    }
+
+    private MongoIndexes() {
+    }
+
+    public static void ensureIndexes(MongoDatabase database) {
+        INDEXES.forEach((collection, indexes) -> database.getCollection(collection).createIndexes(indexes));
+    }
+
+    /**
+     * Explains every declared DAO query and returns the names of those whose winning plan still scans the collection.
+     */
+    public static List<String> findUnindexedQueries(MongoDatabase database) {
+        List<String> unindexed = new ArrayList<>();
+        CHECKS.forEach((name, check) -> {
+            Document plan = database.getCollection(check.collection()).find(check.filter()).explain();
+            List<String> stages = new ArrayList<>();
+            collectStages(plan.get("queryPlanner", Document.class).get("winningPlan"), stages);
+            if (stages.contains("COLLSCAN") || stages.stream().noneMatch(stage -> stage.equals("IXSCAN") || stage.equals("IDHACK"))) {
+                unindexed.add(name + " " + stages.stream().collect(Collectors.joining(" <- ", "[", "]")));
+            }
+        });
+        return unindexed;
+    }
+
+    private static void index(String collection, Bson keys, String name) {
+        INDEXES.computeIfAbsent(collection, c -> new ArrayList<>()).add(new IndexModel(keys, new IndexOptions().name(name)));
+    }
+
+    private static void check(String name, String collection, Document filter) {
+        CHECKS.put(name, new Check(collection, filter));
+    }
+
+    // Plans nest stages under inputStage/inputStages (and queryPlan on slot-based engines)
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private record Check(String collection, Document filter) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import org.bson.types.Decimal128;
+import org.nosql.vykhryst.entity.Money;
+
+/**
+ * Exact conversions between {@link Money} and the {@link Decimal128} values stored in the Mongo documents.
+ * Both directions work on the IEEE 754-2008 BID bits directly, so reading a price doesn't go through
+ * {@link java.math.BigDecimal}; values whose coefficient needs more than 63 bits take the slower exact path.
+ */
+public final class MongoMoney {
+
+    private static final int EXPONENT_OFFSET = 6176;
+    private static final long COMBINATION_LARGE_FORM = 3L << 61;
+    private static final long COEFFICIENT_HIGH_MASK = (1L << 49) - 1;
+    private static final long SCALE_BITS = (long) (EXPONENT_OFFSET - Money.SCALE) << 49;
+
+    private MongoMoney() {
+    }
+
+    public static Money toMoney(Decimal128 value) {
+        return Money.ofMinorUnits(minorUnits(value));
+    }
+
+    public static long minorUnits(Decimal128 value) {
+        long high = value.getHigh();
+        long low = value.getLow();
+        // NaN, infinities and coefficients that use the high word; bigDecimalValue() rejects the first two
+        if ((high & COMBINATION_LARGE_FORM) == COMBINATION_LARGE_FORM || (high & COEFFICIENT_HIGH_MASK) != 0 || low < 0) {
+            return Money.of(value.bigDecimalValue()).getMinorUnits();
+        }
+        long coefficient = low;
+        if (coefficient == 0) {
+            return 0;
+        }
+        int exponent = (int) ((high >>> 49) & 0x3FFF) - EXPONENT_OFFSET + Money.SCALE;
+        for (; exponent > 0; exponent--) {
+            coefficient = Math.multiplyExact(coefficient, 10);
+        }
+        for (; exponent < 0; exponent++) {
+            if (coefficient % 10 != 0) {
+                throw new ArithmeticException("More than " + Money.SCALE + " decimal places in " + value);
+            }
+            coefficient /= 10;
+        }
+        return high < 0 ? -coefficient : coefficient;
+    }
+
+    public static Decimal128 toDecimal128(Money money) {
+        return toDecimal128(money.getMinorUnits());
+    }
+
+    /**
+     * Same value as {@code new Decimal128(BigDecimal.valueOf(minorUnits, Money.SCALE))}.
+     */
+    public static Decimal128 toDecimal128(long minorUnits) {
+        // Math.abs(Long.MIN_VALUE) stays 2^63 when read as the unsigned low word
+        return Decimal128.fromIEEE754BIDEncoding((minorUnits < 0 ? Long.MIN_VALUE : 0) | SCALE_BITS, Math.abs(minorUnits));
+    }
+}
@@ -0,0 +1,52 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pages on {@code _id} range queries instead of {@code skip}, which walks every skipped index entry.
+ * {@code ObjectId}s grow with insertion time, so id order is roughly insertion order.
+ */
+public final class MongoPages {
+
+    private MongoPages() {
+    }
+
+    /**
+     * Page in {@code _id} order; {@code afterId} is {@code null} for the first page.
+     */
+    public static <D, T> List<T> findPage(MongoCollection<D> collection, String afterId, int limit, Function<D, T> mapper) {
+        checkLimit(limit);
+        Bson filter = afterId != null ? Filters.gt("_id", new ObjectId(afterId)) : Filters.empty();
+        return collection.find(filter).sort(Sorts.ascending("_id")).limit(limit).map(mapper::apply).into(new ArrayList<>());
+    }
+
+    /**
+     * Page ordered by {@code sortField}, then {@code _id} for equal values; {@code afterValue} and {@code afterId} come
+     * from the last document of the previous page, both {@code null} for the first. Needs a {@code {sortField: 1, _id: 1}}
+     * index, see {@link MongoIndexes}.
+     */
+    public static <D, T> List<T> findPage(MongoCollection<D> collection, String sortField, String afterValue, String afterId,
+                                          int limit, Function<D, T> mapper) {
+        checkLimit(limit);
+        Bson filter = afterValue != null
+                ? Filters.or(Filters.gt(sortField, afterValue),
+                Filters.and(Filters.eq(sortField, afterValue), Filters.gt("_id", new ObjectId(afterId))))
+                : Filters.empty();
+        return collection.find(filter).sort(Sorts.ascending(sortField, "_id")).limit(limit).map(mapper::apply).into(new ArrayList<>());
+    }
+
+    // find().limit(0) means no limit and a negative one a single batch, neither of them a page
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily maps a cursor to entities, fetching {@code mongo.stream.batchSize} documents per getMore.
+ * The returned stream keeps the server cursor open until it is closed.
+ */
+public final class MongoStreams {
+
+    private static final int BATCH_SIZE = Integer.parseInt(PropertiesManager.getProperty("mongo.stream.batchSize", "1000"));
+
+    private MongoStreams() {
+    }
+
+    public static <D, T> Stream<T> stream(FindIterable<D> iterable, Function<D, T> mapper) {
+        MongoCursor<D> cursor = iterable.batchSize(BATCH_SIZE).cursor();
+        Spliterator<D> spliterator = Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cursor::close)
+                .map(mapper);
+    }
+}
@@ -0,0 +1,208 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import com.mongodb.event.*;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Command and connection pool listener registered in {@link MongoConnectionManager}.
+ * Aggregates duration, documents returned and reply size per command and collection, plus time spent waiting
+ * for a pooled connection. Commands slower than the threshold are written to the slow-query log with the shape
+ * of their filter or pipeline: the top-level filter and sort keys, the pipeline stage names and the filter keys of
+ * the first update or delete statement, never any values. The listener runs on every command, so it only collects
+ * those key names up front, renders them for slow commands only, and takes the reply size from the raw reply bytes
+ * instead of encoding the reply again.
+ */
+public class MongoTelemetry implements CommandListener, ConnectionPoolListener {
+
+    private static final List<String> KEYED_FIELDS = List.of("filter", "query", "sort");
+    private static final List<String> STATEMENT_FIELDS = List.of("updates", "deletes");
+
+    private final long slowThresholdNanos;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CommandCounters> commands = new ConcurrentHashMap<>();
+
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder checkoutFailures = new LongAdder();
+    private final LongAdder checkoutNanos = new LongAdder();
+    private final LongAccumulator maxCheckoutNanos = new LongAccumulator(Math::max, 0);
+
+    public MongoTelemetry(long slowThresholdMs) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        // the command document is only valid during this callback, so the shape is taken now
+        inFlight.put(event.getRequestId(), new Started(collectionOf(event.getCommandName(), command), shapeOf(command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        BsonDocument response = event.getResponse();
+        long documents = documentsOf(response);
+        long replyBytes = sizeOf(response);
+        String collection = started != null ? started.collection() : "";
+        counters(event.getCommandName(), collection).record(nanos, documents, replyBytes, false);
+        if (nanos >= slowThresholdNanos) {
+            logSlow(event.getCommandName(), collection, started, nanos, documents + " docs, " + replyBytes + " bytes");
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        String collection = started != null ? started.collection() : "";
+        counters(event.getCommandName(), collection).record(nanos, 0, 0, true);
+        if (nanos >= slowThresholdNanos) {
+            logSlow(event.getCommandName(), collection, started, nanos, "failed: " + event.getThrowable().getMessage());
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        checkouts.increment();
+        checkoutNanos.add(nanos);
+        maxCheckoutNanos.accumulate(nanos);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutFailures.increment();
+    }
+
+    public List<MongoCommandStatistics> getCommandStatistics() {
+        return commands.values().stream()
+                .map(CommandCounters::snapshot)
+                .sorted(Comparator.comparingDouble(MongoCommandStatistics::getTotalMillis).reversed())
+                .toList();
+    }
+
+    public long getCheckoutCount() {
+        return checkouts.sum();
+    }
+
+    public long getCheckoutFailures() {
+        return checkoutFailures.sum();
+    }
+
+    public double getAverageCheckoutMicros() {
+        long count = checkouts.sum();
+        return count == 0 ? 0 : checkoutNanos.sum() / 1e3 / count;
+    }
+
+    public double getMaxCheckoutMicros() {
+        return maxCheckoutNanos.get() / 1e3;
+    }
+
+    private CommandCounters counters(String command, String collection) {
+        return commands.computeIfAbsent(command + " " + collection, key -> new CommandCounters(command, collection));
+    }
+
+    private static void logSlow(String command, String collection, Started started, long nanos, String outcome) {
+        System.err.printf("Slow Mongo %s on %s: %.1f ms, %s, shape %s%n", command, collection, nanos / 1e6, outcome,
+                started != null ? started.shape() : "?");
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue value = command.get("getMore".equals(commandName) ? "collection" : commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "";
+    }
+
+    // Key names only: the command document is parsed no deeper than one level below these fields
+    private static Map<String, List<String>> shapeOf(BsonDocument command) {
+        Map<String, List<String>> shape = new LinkedHashMap<>();
+        for (String field : KEYED_FIELDS) {
+            BsonValue value = command.get(field);
+            if (value != null && value.isDocument()) {
+                shape.put(field, List.copyOf(value.asDocument().keySet()));
+            }
+        }
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline != null && pipeline.isArray()) {
+            List<String> stages = new ArrayList<>();
+            for (BsonValue stage : pipeline.asArray()) {
+                if (stage.isDocument() && !stage.asDocument().isEmpty()) {
+                    stages.add(stage.asDocument().getFirstKey());
+                }
+            }
+            shape.put("pipeline", stages);
+        }
+        for (String field : STATEMENT_FIELDS) {
+            BsonValue statements = command.get(field);
+            if (statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                    && statements.asArray().get(0).isDocument()) {
+                BsonValue q = statements.asArray().get(0).asDocument().get("q");
+                shape.put(field, q != null && q.isDocument() ? List.copyOf(q.asDocument().keySet()) : List.of());
+            }
+        }
+        return shape;
+    }
+
+    private static long documentsOf(BsonDocument response) {
+        BsonDocument cursor = response.getDocument("cursor", null);
+        if (cursor != null) {
+            BsonArray batch = cursor.getArray("firstBatch", cursor.getArray("nextBatch", null));
+            return batch != null ? batch.size() : 0;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+    }
+
+    // The driver hands listeners the reply as raw bytes; other documents (e.g. redacted replies) aren't counted
+    private static long sizeOf(BsonDocument response) {
+        return response instanceof RawBsonDocument raw ? raw.getByteBuffer().remaining() : 0;
+    }
+
+    private record Started(String collection, Map<String, List<String>> shape) {
+    }
+
+    private static class CommandCounters {
+        private final String command;
+        private final String collection;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder documents = new LongAdder();
+        private final LongAdder replyBytes = new LongAdder();
+
+        CommandCounters(String command, String collection) {
+            this.command = command;
+            this.collection = collection;
+        }
+
+        void record(long elapsedNanos, long returned, long bytes, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            nanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            documents.add(returned);
+            replyBytes.add(bytes);
+        }
+
+        MongoCommandStatistics snapshot() {
+            return new MongoCommandStatistics(command, collection, count.sum(), failures.sum(), nanos.sum() / 1e6,
+                    maxNanos.get() / 1e6, documents.sum(), replyBytes.sum());
+        }
+    }
+}
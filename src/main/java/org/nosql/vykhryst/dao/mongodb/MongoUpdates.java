@@ -0,0 +1,33 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import org.bson.Document;
+import org.nosql.vykhryst.entity.ChangedFields;
+
+import java.util.Collection;
+
+/**
+ * {@code $set} documents limited to the changed fields of an entity, see {@link ChangedFields}.
+ */
+public final class MongoUpdates {
+
+    private MongoUpdates() {
+    }
+
+    public static Document setChanged(Document fullDoc, ChangedFields changed) {
+        return setChanged(fullDoc, changed.names());
+    }
+
+    /**
+     * {@code $set} of the fields of {@code fullDoc} named in {@code changedFields}, or of all of {@code fullDoc}
+     * when none of them is in it.
+     */
+    public static Document setChanged(Document fullDoc, Collection<String> changedFields) {
+        Document fields = new Document();
+        for (String field : changedFields) {
+            if (fullDoc.containsKey(field)) {
+                fields.append(field, fullDoc.get(field));
+            }
+        }
+        return new Document("$set", fields.isEmpty() ? fullDoc : fields);
+    }
+}
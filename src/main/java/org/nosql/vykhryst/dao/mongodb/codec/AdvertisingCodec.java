@@ -0,0 +1,56 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+
+/**
+ * {@code advertising} documents with their embedded {@code category}, also embedded in program line items.
+ */
+public class AdvertisingCodec extends EntityCodec<Advertising> {
+
+    private final Codec<Category> categoryCodec;
+
+    public AdvertisingCodec(Codec<Category> categoryCodec) {
+        super(Advertising.class, Advertising::getId, Advertising::setId);
+        this.categoryCodec = categoryCodec;
+    }
+
+    @Override
+    public Advertising decode(BsonReader reader, DecoderContext decoderContext) {
+        Advertising.Builder builder = new Advertising.Builder();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> builder.id(BsonFields.readId(reader));
+                case "name" -> builder.name(BsonFields.readString(reader));
+                case "description" -> builder.description(BsonFields.readString(reader));
+                case "measurement" -> builder.measurement(BsonFields.readString(reader));
+                case "unitPrice" -> builder.unitPrice(BsonFields.readMoney(reader));
+                case "updatedAt" -> builder.updatedAt(BsonFields.readDateTime(reader));
+                case "category" -> builder.category(BsonFields.readEmbedded(reader, categoryCodec, decoderContext));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return builder.build();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Advertising advertising, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, advertising.getId());
+        BsonFields.writeString(writer, "name", advertising.getName());
+        BsonFields.writeString(writer, "description", advertising.getDescription());
+        BsonFields.writeString(writer, "measurement", advertising.getMeasurement());
+        BsonFields.writeMoney(writer, "unitPrice", advertising.getUnitPrice());
+        BsonFields.writeDateTime(writer, "updatedAt", advertising.getUpdatedAt());
+        BsonFields.writeEmbedded(writer, "category", advertising.getCategory(), categoryCodec, encoderContext);
+        writer.writeEndDocument();
+    }
+}
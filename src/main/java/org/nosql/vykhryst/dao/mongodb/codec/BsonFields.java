@@ -0,0 +1,94 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.nosql.vykhryst.dao.mongodb.MongoMoney;
+import org.nosql.vykhryst.entity.Money;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static java.time.ZoneOffset.UTC;
+
+/**
+ * Null-aware reads and writes of the field types the entity documents use. Ids are {@code ObjectId}s exposed as
+ * hex strings, dates are UTC {@code DateTime}s, prices are {@code Decimal128} — the same as the {@code Document}
+ * mapping in the DAOs, so both read each other's documents.
+ */
+final class BsonFields {
+
+    private BsonFields() {
+    }
+
+    static boolean readNull(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return true;
+        }
+        return false;
+    }
+
+    static String readString(BsonReader reader) {
+        return readNull(reader) ? null : reader.readString();
+    }
+
+    static String readId(BsonReader reader) {
+        return readNull(reader) ? null : reader.readObjectId().toHexString();
+    }
+
+    static LocalDateTime readDateTime(BsonReader reader) {
+        return readNull(reader) ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), UTC);
+    }
+
+    static Money readMoney(BsonReader reader) {
+        return readNull(reader) ? null : MongoMoney.toMoney(reader.readDecimal128());
+    }
+
+    static <T> T readEmbedded(BsonReader reader, Codec<T> codec, DecoderContext context) {
+        return readNull(reader) ? null : context.decodeWithChildContext(codec, reader);
+    }
+
+    static void writeId(BsonWriter writer, String id) {
+        if (id != null) {
+            writer.writeObjectId("_id", new ObjectId(id));
+        }
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        } else {
+            writer.writeNull(name);
+        }
+    }
+
+    static void writeDateTime(BsonWriter writer, String name, LocalDateTime value) {
+        if (value != null) {
+            writer.writeDateTime(name, value.toInstant(UTC).toEpochMilli());
+        } else {
+            writer.writeNull(name);
+        }
+    }
+
+    static void writeMoney(BsonWriter writer, String name, Money value) {
+        if (value != null) {
+            writer.writeDecimal128(name, MongoMoney.toDecimal128(value));
+        } else {
+            writer.writeNull(name);
+        }
+    }
+
+    static <T> void writeEmbedded(BsonWriter writer, String name, T value, Codec<T> codec, EncoderContext context) {
+        writer.writeName(name);
+        if (value != null) {
+            context.encodeWithChildContext(codec, writer, value);
+        } else {
+            writer.writeNull();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.nosql.vykhryst.entity.Category;
+
+/**
+ * {@code {_id, name}}, both as a {@code category} document and embedded in advertisings.
+ */
+public class CategoryCodec extends EntityCodec<Category> {
+
+    public CategoryCodec() {
+        super(Category.class, Category::getId, Category::setId);
+    }
+
+    @Override
+    public Category decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String name = null;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> id = BsonFields.readId(reader);
+                case "name" -> name = BsonFields.readString(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new Category(id, name);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Category category, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, category.getId());
+        BsonFields.writeString(writer, "name", category.getName());
+        writer.writeEndDocument();
+    }
+}
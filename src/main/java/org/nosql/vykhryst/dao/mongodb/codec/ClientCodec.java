@@ -0,0 +1,51 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.nosql.vykhryst.entity.Client;
+
+/**
+ * {@code client} documents, also embedded in programs.
+ */
+public class ClientCodec extends EntityCodec<Client> {
+
+    public ClientCodec() {
+        super(Client.class, Client::getId, Client::setId);
+    }
+
+    @Override
+    public Client decode(BsonReader reader, DecoderContext decoderContext) {
+        Client.Builder builder = new Client.Builder();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> builder.id(BsonFields.readId(reader));
+                case "username" -> builder.username(BsonFields.readString(reader));
+                case "firstname" -> builder.firstname(BsonFields.readString(reader));
+                case "lastname" -> builder.lastname(BsonFields.readString(reader));
+                case "phoneNumber" -> builder.phoneNumber(BsonFields.readString(reader));
+                case "email" -> builder.email(BsonFields.readString(reader));
+                case "password" -> builder.password(BsonFields.readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return builder.build();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Client client, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, client.getId());
+        BsonFields.writeString(writer, "username", client.getUsername());
+        BsonFields.writeString(writer, "firstname", client.getFirstname());
+        BsonFields.writeString(writer, "lastname", client.getLastname());
+        BsonFields.writeString(writer, "phoneNumber", client.getPhoneNumber());
+        BsonFields.writeString(writer, "email", client.getEmail());
+        BsonFields.writeString(writer, "password", client.getPassword());
+        writer.writeEndDocument();
+    }
+}
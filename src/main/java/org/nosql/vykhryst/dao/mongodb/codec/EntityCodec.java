@@ -0,0 +1,52 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.types.ObjectId;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Id handling shared by the entity codecs: on insert the driver asks the codec for an {@code _id},
+ * which is generated on the entity itself, so {@code insertOne(entity)} leaves the new id on it.
+ */
+abstract class EntityCodec<T> implements CollectibleCodec<T> {
+
+    private final Class<T> encoderClass;
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+
+    EntityCodec(Class<T> encoderClass, Function<T, String> idGetter, BiConsumer<T, String> idSetter) {
+        this.encoderClass = encoderClass;
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return encoderClass;
+    }
+
+    @Override
+    public T generateIdIfAbsentFromDocument(T entity) {
+        if (!documentHasId(entity)) {
+            idSetter.accept(entity, new ObjectId().toHexString());
+        }
+        return entity;
+    }
+
+    @Override
+    public boolean documentHasId(T entity) {
+        return idGetter.apply(entity) != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(T entity) {
+        if (!documentHasId(entity)) {
+            throw new IllegalStateException("The " + encoderClass.getSimpleName() + " has no id");
+        }
+        return new BsonObjectId(new ObjectId(idGetter.apply(entity)));
+    }
+}
@@ -0,0 +1,34 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Program;
+
+/**
+ * Codecs for the entity classes, so collections can be opened as {@code MongoCollection<Program>} etc.
+ * and read without building an intermediate {@code Document} per result.
+ */
+public class EntityCodecProvider implements CodecProvider {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (clazz == Client.class) {
+            return (Codec<T>) new ClientCodec();
+        }
+        if (clazz == Category.class) {
+            return (Codec<T>) new CategoryCodec();
+        }
+        if (clazz == Advertising.class) {
+            return (Codec<T>) new AdvertisingCodec(registry.get(Category.class));
+        }
+        if (clazz == Program.class) {
+            return (Codec<T>) new ProgramCodec(registry.get(Client.class), registry.get(Advertising.class));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package org.nosql.vykhryst.dao.mongodb.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Program;
+
+import java.util.Map;
+
+/**
+ * {@code program} documents: the embedded client and {@code advertisingList} of {@code {advertising, quantity}} items.
+ */
+public class ProgramCodec extends EntityCodec<Program> {
+
+    private final Codec<Client> clientCodec;
+    private final Codec<Advertising> advertisingCodec;
+
+    public ProgramCodec(Codec<Client> clientCodec, Codec<Advertising> advertisingCodec) {
+        super(Program.class, Program::getId, Program::setId);
+        this.clientCodec = clientCodec;
+        this.advertisingCodec = advertisingCodec;
+    }
+
+    @Override
+    public Program decode(BsonReader reader, DecoderContext decoderContext) {
+        Program.Builder builder = new Program.Builder();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> builder.id(BsonFields.readId(reader));
+                case "campaignTitle" -> builder.campaignTitle(BsonFields.readString(reader));
+                case "description" -> builder.description(BsonFields.readString(reader));
+                case "createdAt" -> builder.createdAt(BsonFields.readDateTime(reader));
+                case "client" -> builder.client(BsonFields.readEmbedded(reader, clientCodec, decoderContext));
+                case "advertisingList" -> decodeAdvertisingList(reader, decoderContext, builder);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return builder.build();
+    }
+
+    private void decodeAdvertisingList(BsonReader reader, DecoderContext decoderContext, Program.Builder builder) {
+        if (BsonFields.readNull(reader)) {
+            return;
+        }
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            Advertising advertising = null;
+            Integer quantity = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case "advertising" -> advertising = BsonFields.readEmbedded(reader, advertisingCodec, decoderContext);
+                    case "quantity" -> quantity = reader.readInt32();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            builder.addAdvertising(advertising, quantity);
+        }
+        reader.readEndArray();
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Program program, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, program.getId());
+        BsonFields.writeString(writer, "campaignTitle", program.getCampaignTitle());
+        BsonFields.writeString(writer, "description", program.getDescription());
+        BsonFields.writeDateTime(writer, "createdAt", program.getCreatedAt());
+        BsonFields.writeEmbedded(writer, "client", program.getClient(), clientCodec, encoderContext);
+        writer.writeStartArray("advertisingList");
+        for (Map.Entry<Advertising, Integer> entry : program.getAdvertisings().entrySet()) {
+            writer.writeStartDocument();
+            BsonFields.writeEmbedded(writer, "advertising", entry.getKey(), advertisingCodec, encoderContext);
+            writer.writeInt32("quantity", entry.getValue());
+            writer.writeEndDocument();
+        }
+        writer.writeEndArray();
+        writer.writeEndDocument();
+    }
+}
@@ -2,49 +2,82 @@ package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.*;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.Decimal128;
 import org.bson.types.ObjectId;
+import org.nosql.vykhryst.dao.MigrationResolver;
 import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.dao.mongodb.MongoBatches;
 import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.MongoPages;
+import org.nosql.vykhryst.dao.mongodb.MongoMoney;
+import org.nosql.vykhryst.dao.mongodb.MongoStreams;
+import org.nosql.vykhryst.dao.mongodb.MongoUpdates;
 import org.nosql.vykhryst.entity.Advertising;
-import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.AdvertisingView;
+import org.nosql.vykhryst.entity.Money;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Accumulators.avg;
 import static com.mongodb.client.model.Accumulators.sum;
 import static com.mongodb.client.model.Aggregates.*;
 import static com.mongodb.client.model.Filters.*;
-import static java.time.ZoneOffset.UTC;
 
 public class MongoAdvertisingDAO implements AdvertisingDAO {
 
+    // each read fetches only what it maps
+    private static final Bson VIEW_FIELDS = Projections.include("name", "category.name", "unitPrice");
+    private static final Bson CATEGORY_FIELDS = Projections.fields(Projections.include("category.name"), Projections.excludeId());
+    private static final Bson CATEGORY_PRICE_FIELDS = Projections.fields(Projections.include("category.name", "unitPrice"), Projections.excludeId());
+    private static final Bson NAME_PRICE_FIELDS = Projections.fields(Projections.include("name", "unitPrice"), Projections.excludeId());
+    private static final Bson ID_ONLY = Projections.include("_id");
+
     private final MongoCollection<Document> advertisingCollection;
+    private final MongoCollection<Advertising> advertisings; // читання повних сутностей через AdvertisingCodec
 
 
     public MongoAdvertisingDAO() {
         this.advertisingCollection = MongoConnectionManager.getCollection("advertising");
+        this.advertisings = MongoConnectionManager.getCollection("advertising", Advertising.class);
     }
 
     @Override
     public Optional<Advertising> findById(String id) {
         Document query = createIdQuery(id);
-        Document result = advertisingCollection.find(query).first();
-        return result != null ? Optional.of(mapDocumentToAdvertising(result)) : Optional.empty();
+        return Optional.ofNullable(advertisings.find(query).first());
     }
 
 
     @Override
     public List<Advertising> findAll() {
-        List<Advertising> advertisingList = new ArrayList<>();
-        for (Document doc : advertisingCollection.find()) {
-            advertisingList.add(mapDocumentToAdvertising(doc));
-        }
-        return advertisingList;
+        return advertisings.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public Stream<Advertising> streamAll() {
+        return MongoStreams.stream(advertisings.find(), Function.identity());
+    }
+
+    @Override
+    public List<Advertising> findPage(String afterId, int limit) {
+        return MongoPages.findPage(advertisings, afterId, limit, Function.identity());
+    }
+
+    @Override
+    public List<Advertising> findPageByName(String afterName, String afterId, int limit) {
+        return MongoPages.findPage(advertisings, "name", afterName, afterId, limit, Function.identity());
+    }
+
+    @Override
+    public Stream<AdvertisingView> streamViews() {
+        return MongoStreams.stream(advertisingCollection.find().projection(VIEW_FIELDS), MongoAdvertisingDAO::mapDocumentToView);
     }
 
     @Override
@@ -55,11 +88,21 @@ public class MongoAdvertisingDAO implements AdvertisingDAO {
         return advertising.getId();
     }
 
+    @Override
+    public List<String> saveAll(Collection<Advertising> advertisings, int chunkSize) {
+        return MongoBatches.insertAll(advertisingCollection, advertisings, chunkSize,
+                MongoAdvertisingDAO::mapAdvertisingToDocument, Advertising::setId);
+    }
+
     @Override
     public boolean update(Advertising entity) {
         Document query = createIdQuery(entity.getId());
         Document doc = mapAdvertisingToDocument(entity);
-        return advertisingCollection.updateOne(query, new Document("$set", doc)).wasAcknowledged();
+        UpdateResult result = advertisingCollection.updateOne(query, MongoUpdates.setChanged(doc, entity.getChangedFields()));
+        if (result.getMatchedCount() > 0) {
+            entity.getChangedFields().clear();
+        }
+        return result.wasAcknowledged();
     }
 
 
@@ -72,8 +115,7 @@ public class MongoAdvertisingDAO implements AdvertisingDAO {
     @Override
     public Optional<Advertising> findByName(String name) {
         Document query = new Document("name", name);
-        Document result = advertisingCollection.find(query).first();
-        return result != null ? Optional.of(mapDocumentToAdvertising(result)) : Optional.empty();
+        return Optional.ofNullable(advertisings.find(query).first());
     }
 
 
@@ -90,7 +132,7 @@ public class MongoAdvertisingDAO implements AdvertisingDAO {
 
     public Map<String, Integer> countAdsPerCategory() {
         Map<String, Integer> categoryCounts = new HashMap<>();
-        for (Document doc : advertisingCollection.find()) {
+        for (Document doc : advertisingCollection.find().projection(CATEGORY_FIELDS)) {
             String category = doc.get("category", Document.class).getString("name");
             categoryCounts.put(category, categoryCounts.getOrDefault(category, 0) + 1);
         }
@@ -110,15 +152,17 @@ public class MongoAdvertisingDAO implements AdvertisingDAO {
     }
 
     public Map<String, Double> averageAdPricePerCategory() {
-        Map<String, List<Double>> categoryPrices = new HashMap<>();
-        for (Document doc : advertisingCollection.find()) {
+        // category -> {sum of prices in minor units, count}
+        Map<String, long[]> categoryPrices = new HashMap<>();
+        for (Document doc : advertisingCollection.find().projection(CATEGORY_PRICE_FIELDS)) {
             String category = doc.get("category", Document.class).getString("name");
-            Double price = doc.get("unitPrice", Decimal128.class).doubleValue();
-            categoryPrices.computeIfAbsent(category, k -> new ArrayList<>()).add(price);
+            long[] sumAndCount = categoryPrices.computeIfAbsent(category, k -> new long[2]);
+            sumAndCount[0] = Math.addExact(sumAndCount[0], MongoMoney.minorUnits(doc.get("unitPrice", Decimal128.class)));
+            sumAndCount[1]++;
         }
         return categoryPrices.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey,
-                        entry -> entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0)));
+                        entry -> Money.ofMinorUnits(entry.getValue()[0]).toDouble() / entry.getValue()[1]));
     }
 
 
@@ -135,10 +179,12 @@ public class MongoAdvertisingDAO implements AdvertisingDAO {
 
     public Map<String, BigDecimal> getAdsInPriceRange(int minPrice, int maxPrice) {
         Map<String, BigDecimal> result = new HashMap<>();
-        for (Document doc : advertisingCollection.find()) {
-            BigDecimal price = doc.get("unitPrice", Decimal128.class).bigDecimalValue();
-            if (price.compareTo(BigDecimal.valueOf(minPrice)) >= 0 && price.compareTo(BigDecimal.valueOf(maxPrice)) <= 0) {
-                result.put(doc.getString("name"), price);
+        long min = Money.ofUnits(minPrice).getMinorUnits();
+        long max = Money.ofUnits(maxPrice).getMinorUnits();
+        for (Document doc : advertisingCollection.find().projection(NAME_PRICE_FIELDS)) {
+            long price = MongoMoney.minorUnits(doc.get("unitPrice", Decimal128.class));
+            if (price >= min && price <= max) {
+                result.put(doc.getString("name"), Money.ofMinorUnits(price).toBigDecimal());
             }
         }
         return result;
@@ -169,64 +215,51 @@ public class MongoAdvertisingDAO implements AdvertisingDAO {
 
 
     @Override
-    public String migrate(Advertising advertising) {
+    public String migrate(Advertising advertising, MigrationResolver resolver) {
         Document doc = new Document("name", advertising.getName())
                 .append("description", advertising.getDescription())
                 .append("measurement", advertising.getMeasurement())
-                .append("unitPrice", new Decimal128(advertising.getUnitPrice()))
+                .append("unitPrice", MongoMoney.toDecimal128(advertising.getUnitPrice()))
                 .append("updatedAt", advertising.getUpdatedAt());
-        Category category = findCategoryByName(advertising.getCategory().getName());
-        doc.append("category", new Document("_id", new ObjectId(category.getId()))
-                .append("name", category.getName()));
+        String categoryName = advertising.getCategory().getName();
+        String categoryId = resolver.categoryId(advertising.getCategory(), this::findCategoryIdByName);
+        doc.append("category", new Document("_id", new ObjectId(categoryId))
+                .append("name", categoryName));
         advertisingCollection.insertOne(doc);
         advertising.setId(doc.getObjectId("_id").toString());
+        resolver.registerAdvertising(advertising);
         return advertising.getId();
     }
 
-    private Category findCategoryByName(String name) {
+    private String findCategoryIdByName(String name) {
         Document query = new Document("name", name);
-        Document categoryDoc = MongoConnectionManager.getCollection("category").find(query).first();
-        return categoryDoc != null ? mapDocumentToCategory(categoryDoc) : null;
+        Document categoryDoc = MongoConnectionManager.getCollection("category").find(query).projection(ID_ONLY).first();
+        return categoryDoc != null ? categoryDoc.getObjectId("_id").toString() : null;
     }
 
-    public List<Advertising> findByNameAndUnitPrice(String name, BigDecimal unitPrice) {
+    public List<Advertising> findByNameAndUnitPrice(String name, Money unitPrice) {
         Document query = new Document();
         if (name != null) {
             query.append("name", name);
         }
         if (unitPrice != null) {
-            query.append("unitPrice", new Decimal128(unitPrice));
-        }
-        List<Advertising> advertisingList = new ArrayList<>();
-        for (Document doc : advertisingCollection.find(query)) {
-            advertisingList.add(mapDocumentToAdvertising(doc));
+            query.append("unitPrice", MongoMoney.toDecimal128(unitPrice));
         }
-        return advertisingList;
+        return advertisings.find(query).into(new ArrayList<>());
     }
 
 
     // Utility methods
-    private Advertising mapDocumentToAdvertising(Document result) {
-        return new Advertising.Builder()
-                .id(result.getObjectId("_id").toString())
-                .name(result.getString("name"))
-                .description(result.getString("description"))
-                .measurement(result.getString("measurement"))
-                .unitPrice(result.get("unitPrice", Decimal128.class).bigDecimalValue())
-                .updatedAt(result.getDate("updatedAt").toInstant().atZone(UTC).toLocalDateTime())
-                .category(mapDocumentToCategory(result.get("category", Document.class)))
-                .build();
-    }
-
-    private static Category mapDocumentToCategory(Document categoryDoc) {
-        return new Category(categoryDoc.getObjectId("_id").toString(), categoryDoc.getString("name"));
+    private static AdvertisingView mapDocumentToView(Document doc) {
+        return new AdvertisingView(doc.getObjectId("_id").toString(), doc.getString("name"),
+                doc.get("category", Document.class).getString("name"), MongoMoney.toMoney(doc.get("unitPrice", Decimal128.class)));
     }
 
     private static Document mapAdvertisingToDocument(Advertising entity) {
         return new Document("name", entity.getName())
                 .append("description", entity.getDescription())
                 .append("measurement", entity.getMeasurement())
-                .append("unitPrice", new Decimal128(entity.getUnitPrice()))
+                .append("unitPrice", MongoMoney.toDecimal128(entity.getUnitPrice()))
                 .append("updatedAt", entity.getUpdatedAt())
                 .append("category", new Document("_id", new ObjectId(entity.getCategory().getId()))
                         .append("name", entity.getCategory().getName()));
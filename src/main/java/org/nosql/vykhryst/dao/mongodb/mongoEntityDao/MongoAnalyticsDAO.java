@@ -0,0 +1,45 @@
+package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
+
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * The aggregation pipeline versions of the reports in {@link MongoAdvertisingDAO} and {@link MongoProgramDAO}.
+ */
+public class MongoAnalyticsDAO implements AnalyticsDAO {
+
+    private final MongoAdvertisingDAO advertisingDAO;
+    private final MongoProgramDAO programDAO;
+
+    public MongoAnalyticsDAO() {
+        this.advertisingDAO = new MongoAdvertisingDAO();
+        this.programDAO = new MongoProgramDAO();
+    }
+
+    @Override
+    public Map<String, Integer> countAdsPerCategory() {
+        return advertisingDAO.aggregateCountAdsPerCategory();
+    }
+
+    @Override
+    public Map<String, Double> averageAdPricePerCategory() {
+        return advertisingDAO.aggregateAverageAdPricePerCategory();
+    }
+
+    @Override
+    public Map<String, BigDecimal> calculateProgramCost() {
+        return programDAO.aggregateCalculateProgramCost();
+    }
+
+    @Override
+    public Map<String, BigDecimal> getAdsInPriceRange(int minPrice, int maxPrice) {
+        return advertisingDAO.aggregateGetAdsInPriceRange(minPrice, maxPrice);
+    }
+
+    @Override
+    public Map<String, Integer> getMostPopularAdCategories(int limit) {
+        return programDAO.aggregateGetMostPopularAdCategories(limit);
+    }
+}
@@ -1,38 +1,57 @@
 package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
+import org.nosql.vykhryst.dao.mongodb.MongoBatches;
 import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.MongoPages;
+import org.nosql.vykhryst.dao.mongodb.MongoStreams;
 import org.nosql.vykhryst.entity.Category;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class MongoCategoryDAO implements CategoryDAO {
 
     private final MongoCollection<Document> categoryCollection;
+    private final MongoCollection<Category> categories; // читання через CategoryCodec
 
     public MongoCategoryDAO() {
         this.categoryCollection = MongoConnectionManager.getCollection("category");
+        this.categories = MongoConnectionManager.getCollection("category", Category.class);
     }
 
     @Override
     public Optional<Category> findById(String id) {
         Document query = createIdQuery(id);
-        Document result = categoryCollection.find(query).first();
-        return result != null ? Optional.of(mapDocumentToCategory(result)) : Optional.empty();
+        return Optional.ofNullable(categories.find(query).first());
     }
 
     @Override
     public List<Category> findAll() {
-        List<Category> categories = new ArrayList<>();
-        for (Document doc : categoryCollection.find()) {
-            categories.add(mapDocumentToCategory(doc));
-        }
-        return categories;
+        return categories.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public Stream<Category> streamAll() {
+        return MongoStreams.stream(categories.find(), Function.identity());
+    }
+
+    @Override
+    public List<Category> findPage(String afterId, int limit) {
+        return MongoPages.findPage(categories, afterId, limit, Function.identity());
+    }
+
+    @Override
+    public List<Category> findPageByName(String afterName, String afterId, int limit) {
+        return MongoPages.findPage(categories, "name", afterName, afterId, limit, Function.identity());
     }
 
     @Override
@@ -43,11 +62,21 @@ public class MongoCategoryDAO implements CategoryDAO {
         return entity.getId();
     }
 
+    @Override
+    public List<String> saveAll(Collection<Category> categories, int chunkSize) {
+        return MongoBatches.insertAll(categoryCollection, categories, chunkSize,
+                category -> new Document("name", category.getName()), Category::setId);
+    }
+
     @Override
     public boolean update(Category entity) {
         Document query = createIdQuery(entity.getId());
         Document doc = new Document("name", entity.getName());
-        return categoryCollection.updateOne(query, new Document("$set", doc)).wasAcknowledged();
+        UpdateResult result = categoryCollection.updateOne(query, new Document("$set", doc));
+        if (result.getMatchedCount() > 0) {
+            entity.getChangedFields().clear(); // name is the only field
+        }
+        return result.wasAcknowledged();
     }
 
     @Override
@@ -56,10 +85,6 @@ public class MongoCategoryDAO implements CategoryDAO {
         return categoryCollection.deleteOne(query).wasAcknowledged();
     }
 
-    private static Category mapDocumentToCategory(Document doc) {
-        return new Category(doc.getObjectId("_id").toString(), doc.getString("name"));
-    }
-
     private static Document createIdQuery(String id) {
         return new Document("_id", new ObjectId(id));
     }
@@ -67,7 +92,6 @@ public class MongoCategoryDAO implements CategoryDAO {
     @Override
     public Category findByName(String name) {
         Document query = new Document("name", name);
-        Document result = categoryCollection.find(query).first();
-        return result != null ? mapDocumentToCategory(result) : null;
+        return categories.find(query).first();
     }
 }
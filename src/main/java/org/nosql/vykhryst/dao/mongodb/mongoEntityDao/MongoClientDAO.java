@@ -1,38 +1,58 @@
 package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.dao.mongodb.MongoBatches;
 import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.MongoPages;
+import org.nosql.vykhryst.dao.mongodb.MongoStreams;
+import org.nosql.vykhryst.dao.mongodb.MongoUpdates;
 import org.nosql.vykhryst.entity.Client;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class MongoClientDAO implements ClientDAO {
     private final MongoCollection<Document> clientCollection;
+    private final MongoCollection<Client> clients; // читання через ClientCodec, без проміжного Document
 
     public MongoClientDAO() {
 //        this.clientCollection = MongoConnectionManager.getCollection("client").withWriteConcern(WriteConcern.UNACKNOWLEDGED);
         this.clientCollection = MongoConnectionManager.getCollection("client");
+        this.clients = MongoConnectionManager.getCollection("client", Client.class);
     }
 
     @Override
     public Optional<Client> findById(String id) {
         Document query = createIdQuery(id);
-        Document client = clientCollection.find(query).first();
-        return client != null ? Optional.of(mapDocumentToClient(client)) : Optional.empty();
+        return Optional.ofNullable(clients.find(query).first());
     }
 
     @Override
     public List<Client> findAll() {
-        List<Client> clients = new ArrayList<>();
-        for (Document doc : clientCollection.find()) {
-            clients.add(mapDocumentToClient(doc));
-        }
-        return clients;
+        return clients.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public Stream<Client> streamAll() {
+        return MongoStreams.stream(clients.find(), Function.identity());
+    }
+
+    @Override
+    public List<Client> findPage(String afterId, int limit) {
+        return MongoPages.findPage(clients, afterId, limit, Function.identity());
+    }
+
+    @Override
+    public List<Client> findPageByUsername(String afterUsername, String afterId, int limit) {
+        return MongoPages.findPage(clients, "username", afterUsername, afterId, limit, Function.identity());
     }
 
     @Override
@@ -43,6 +63,11 @@ public class MongoClientDAO implements ClientDAO {
         return entity.getId();
     }
 
+    @Override
+    public List<String> saveAll(Collection<Client> clients, int chunkSize) {
+        return MongoBatches.insertAll(clientCollection, clients, chunkSize, MongoClientDAO::mapClientToDocument, Client::setId);
+    }
+
     public String insertWithReplica(Client client) {
         int maxRetries = 3;
         int retryCount = 0;
@@ -71,7 +96,11 @@ public class MongoClientDAO implements ClientDAO {
     public boolean update(Client entity) {
         Document query = createIdQuery(entity.getId());
         Document doc = mapClientToDocument(entity);
-        return clientCollection.updateOne(query, new Document("$set", doc)).wasAcknowledged();
+        UpdateResult result = clientCollection.updateOne(query, MongoUpdates.setChanged(doc, entity.getChangedFields()));
+        if (result.getMatchedCount() > 0) {
+            entity.getChangedFields().clear();
+        }
+        return result.wasAcknowledged();
     }
 
     @Override
@@ -83,17 +112,12 @@ public class MongoClientDAO implements ClientDAO {
     @Override
     public Optional<Client> findByUsername(String username) {
         Document query = new Document("username", username);
-        Document client = clientCollection.find(query).first();
-        return client != null ? Optional.of(mapDocumentToClient(client)) : Optional.empty();
+        return Optional.ofNullable(clients.find(query).first());
     }
 
     public List<Client> findByEmailAndPassword(String email, String password) {
-        List<Client> clients = new ArrayList<>();
         Document query = new Document("email", email).append("password", password);
-        for (Document doc : clientCollection.find(query)) {
-            clients.add(mapDocumentToClient(doc));
-        }
-        return clients;
+        return clients.find(query).into(new ArrayList<>());
     }
 
 
@@ -107,18 +131,6 @@ public class MongoClientDAO implements ClientDAO {
         return new Document("_id", new ObjectId(id));
     }
 
-    private Client mapDocumentToClient(Document client) {
-        return new Client.Builder()
-                .id(client.getObjectId("_id").toString())
-                .username(client.getString("username"))
-                .password(client.getString("password"))
-                .email(client.getString("email"))
-                .firstname(client.getString("firstname"))
-                .lastname(client.getString("lastname"))
-                .phoneNumber(client.getString("phoneNumber"))
-                .build();
-    }
-
     private static Document mapClientToDocument(Client entity) {
         return new Document("username", entity.getUsername())
                 .append("firstname", entity.getFirstname())
@@ -3,26 +3,44 @@ package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Accumulators;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.Decimal128;
 import org.bson.types.ObjectId;
+import org.nosql.vykhryst.dao.MigrationResolver;
+import org.nosql.vykhryst.dao.cache.EntityCache;
 import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.dao.mongodb.MongoBatches;
 import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.MongoPages;
+import org.nosql.vykhryst.dao.mongodb.MongoMoney;
+import org.nosql.vykhryst.dao.mongodb.MongoStreams;
+import org.nosql.vykhryst.dao.mongodb.MongoUpdates;
 import org.nosql.vykhryst.entity.Advertising;
 import org.nosql.vykhryst.entity.Category;
 import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.LineItemView;
+import org.nosql.vykhryst.entity.Money;
 import org.nosql.vykhryst.entity.Program;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Accumulators.sum;
 import static com.mongodb.client.model.Aggregates.*;
 import static com.mongodb.client.model.Aggregates.limit;
+import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Sorts.orderBy;
 import static java.time.ZoneOffset.UTC;
 
 public class MongoProgramDAO implements ProgramDAO {
@@ -40,41 +58,106 @@ public class MongoProgramDAO implements ProgramDAO {
     public static final String EMAIL = "email";
     public static final String PASSWORD = "password";
     public static final String UPDATED_AT = "updatedAt";
+    private static final String ITEM_ADVERTISING = ADVERTISING_LIST + "." + ADVERTISING + ".";
+    private static final String ITEM_ADVERTISING_ID = ITEM_ADVERTISING + "_id";
+    // array filter identifier for the line item being changed
+    private static final String ITEM = "item";
+    // what the line item reports and ProgramSummaries read from a program: no client, descriptions or timestamps
+    static final Bson LINE_ITEM_FIELDS = Projections.include(CAMPAIGN_TITLE, ITEM_ADVERTISING_ID,
+            ITEM_ADVERTISING + CATEGORY + "." + NAME, ITEM_ADVERTISING + UNIT_PRICE, ADVERTISING_LIST + "." + QUANTITY);
+    private static final Bson ID_ONLY = Projections.include("_id");
     private final MongoCollection<Document> programCollection;
+    // full programs are decoded by ProgramCodec straight into entities, without a Document tree per document
+    private final MongoCollection<Program> programs;
+    private final ProgramStorage storage;
+    private final ProgramReferences references;
+    // stages that make the report pipelines work on line items stored as bare ids
+    private final List<Bson> lineItemLookup;
+    private final ProgramSummaries summaries;
+    // whether writes apply their deltas to the summaries; otherwise only rebuildSummaries refreshes them
+    private final boolean incrementalSummaries;
 
     public MongoProgramDAO() {
+        this(ProgramStorage.fromProperties(), null);
+    }
+
+    /**
+     * @param advertisingCache cache that resolves the advertisings of programs stored as references,
+     *                         or {@code null} to query them every time
+     */
+    public MongoProgramDAO(ProgramStorage storage, EntityCache<String, Advertising> advertisingCache) {
         this.programCollection = MongoConnectionManager.getCollection("program");
+        this.programs = MongoConnectionManager.getCollection("program", Program.class);
+        this.storage = storage;
+        this.references = new ProgramReferences(advertisingCache);
+        this.lineItemLookup = storage.storesLineItemData() ? List.of() : ProgramReferences.lookupStages();
+        this.summaries = new ProgramSummaries(programCollection, lineItemLookup);
+        // bare ids would be counted at the advertisings' current prices, not the ones the items were added with
+        this.incrementalSummaries = storage.storesLineItemData();
+    }
+
+    public ProgramStorage getStorage() {
+        return storage;
     }
 
     @Override
     public Optional<Program> findById(String id) {
         Document query = createIdQuery(id);
-        Document program = programCollection.find(query).first();
-        return program != null ? Optional.of(mapDocumentToProgram(program)) : Optional.empty();
+        return Optional.ofNullable(programs.find(query).first()).map(references::resolve);
     }
 
     @Override
     public List<Program> findAll() {
-        List<Program> programs = new ArrayList<>();
-        for (Document doc : programCollection.find()) {
-            programs.add(mapDocumentToProgram(doc));
-        }
-        return programs;
+        return references.resolve(programs.find().into(new ArrayList<>()));
+    }
+
+    @Override
+    public Stream<Program> streamAll() {
+        return references.resolve(MongoStreams.stream(programs.find(), Function.identity()));
+    }
+
+    @Override
+    public List<Program> findPage(String afterId, int limit) {
+        return references.resolve(MongoPages.findPage(programs, afterId, limit, Function.identity()));
     }
 
     @Override
     public String save(Program program) {
         Document doc = mapProgramToDocument(program);
         programCollection.insertOne(doc);
+        if (incrementalSummaries) {
+            summaries.added(List.of(doc));
+        }
         program.setId(doc.getObjectId("_id").toString());
         return program.getId();
     }
 
+    @Override
+    public List<String> saveAll(Collection<Program> programs, int chunkSize) {
+        List<Document> docs = new ArrayList<>(programs.size());
+        List<String> ids = MongoBatches.insertAll(programCollection, programs, chunkSize, program -> {
+            Document doc = mapProgramToDocument(program);
+            docs.add(doc);
+            return doc;
+        }, Program::setId);
+        if (incrementalSummaries) {
+            summaries.added(docs);
+        }
+        return ids;
+    }
+
+    @Override
+    public Stream<LineItemView> streamLineItems() {
+        UnaryOperator<Document> lineItemData = references.lineItemData();
+        return MongoStreams.stream(programCollection.find().projection(LINE_ITEM_FIELDS),
+                        doc -> mapDocumentToLineItems(lineItemData.apply(doc)))
+                .flatMap(List::stream);
+    }
 
     // Запит 3: Вартість кожної рекламної кампанії
     public Map<String, BigDecimal> aggregateCalculateProgramCost() {
         Map<String, BigDecimal> result = new HashMap<>();
-        List<Bson> pipeline = Arrays.asList(
+        List<Bson> pipeline = withLineItemLookup(
                 Aggregates.unwind("$advertisingList"),
                 Aggregates.project(
                         Projections.fields(
@@ -96,28 +179,39 @@ public class MongoProgramDAO implements ProgramDAO {
     }
 
     public Map<String, BigDecimal> calculateProgramCost() {
-        Map<String, BigDecimal> campaignCosts = new HashMap<>();
-        for (Document doc : programCollection.find()) {
+        // accumulated in minor units, converted to BigDecimal once per campaign
+        Map<String, long[]> campaignCosts = new HashMap<>();
+        // the advertising id resolves line items stored without a price
+        for (Document doc : programCollection.find().projection(Projections.fields(Projections.include(CAMPAIGN_TITLE,
+                ITEM_ADVERTISING_ID, ITEM_ADVERTISING + UNIT_PRICE, ADVERTISING_LIST + "." + QUANTITY), Projections.excludeId()))
+                .map(references.lineItemData()::apply)) {
             String campaignTitle = doc.getString("campaignTitle");
-            List<Document> advertisingList = (List<Document>) doc.get("advertisingList");
+            long[] cost = campaignCosts.computeIfAbsent(campaignTitle, k -> new long[1]);
+            List<Document> advertisingList = doc.getList(ADVERTISING_LIST, Document.class);
             for (Document ad : advertisingList) {
-                BigDecimal unitPrice = ad.get("advertising", Document.class).get("unitPrice", Decimal128.class).bigDecimalValue();
-                Integer quantity = ad.getInteger("quantity");
-                campaignCosts.put(campaignTitle, campaignCosts.getOrDefault(campaignTitle, BigDecimal.valueOf(0.0))
-                        .add(unitPrice.multiply(BigDecimal.valueOf(quantity))));
+                long unitPrice = MongoMoney.minorUnits(ad.get("advertising", Document.class).get("unitPrice", Decimal128.class));
+                int quantity = ad.getInteger("quantity");
+                cost[0] = Math.addExact(cost[0], Math.multiplyExact(unitPrice, quantity));
             }
         }
-        return campaignCosts;
+        Map<String, BigDecimal> result = new HashMap<>();
+        campaignCosts.forEach((campaignTitle, cost) -> result.put(campaignTitle, Money.ofMinorUnits(cost[0]).toBigDecimal()));
+        return result;
+    }
+
+    // Запит 3 з матеріалізованого підсумку program_cost_summary
+    public Map<String, BigDecimal> summaryCalculateProgramCost() {
+        return summaries.programCosts();
     }
 
     // Запит 5: Отримання найбільш популярну категорію реклами за кількістю рекламних програм
     public Map<String, Integer> aggregateGetMostPopularAdCategories(int limit) {
-        Map<String, Integer> result = new HashMap<>();
+        Map<String, Integer> result = new LinkedHashMap<>();
         programCollection.aggregate(
-                        List.of(
+                        withLineItemLookup(
                                 unwind("$advertisingList"),
                                 group("$advertisingList.advertising.category.name", sum("count", 1)),
-                                sort(descending("count")),
+                                sort(orderBy(descending("count"), ascending("_id"))),
                                 limit(limit)
                         ))
                 .forEach(doc -> result.put(doc.getString("_id"), doc.getInteger("count")));
@@ -126,34 +220,107 @@ public class MongoProgramDAO implements ProgramDAO {
 
     public Map<String, Integer> getMostPopularAdCategories(int limit) {
         Map<String, Integer> categoryCounts = new HashMap<>();
-        for (Document doc : programCollection.find()) {
-            List<Document> advertisingList = (List<Document>) doc.get("advertisingList");
+        for (Document doc : programCollection.find().projection(Projections.fields(
+                        Projections.include(ITEM_ADVERTISING_ID, ITEM_ADVERTISING + CATEGORY + "." + NAME), Projections.excludeId()))
+                .map(references.lineItemData()::apply)) {
+            List<Document> advertisingList = doc.getList(ADVERTISING_LIST, Document.class);
             for (Document ad : advertisingList) {
                 String category = ad.get("advertising", Document.class).get("category", Document.class).getString("name");
                 categoryCounts.put(category, categoryCounts.getOrDefault(category, 0) + 1);
             }
         }
         return categoryCounts.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
                 .limit(limit)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+
+    // Запит 5 з матеріалізованого підсумку category_popularity
+    public Map<String, Integer> summaryGetMostPopularAdCategories(int limit) {
+        return summaries.mostPopularCategories(limit);
     }
 
+    /**
+     * Recomputes the summary collections from the programs, e.g. after a failed write left them behind. For programs
+     * stored as bare references (see {@link ProgramStorage}) this is the only thing that updates them.
+     */
+    public void rebuildSummaries() {
+        summaries.rebuild();
+    }
+
+    /**
+     * Compares the summary collections with the aggregation pipelines; returns an empty list when they agree.
+     */
+    public List<String> checkSummaries() {
+        return summaries.findInconsistencies(aggregateCalculateProgramCost(), aggregateGetMostPopularAdCategories(Integer.MAX_VALUE));
+    }
 
+    /**
+     * Each advertising is {@code $push}ed as one element unless the program already has it, in which case only that
+     * element's quantity is set; neither rewrites the rest of the document.
+     */
     @Override
     public boolean saveAdvertisingToProgram(String programId, Map<Advertising, Integer> advertising) {
-        return false;
+        for (Map.Entry<Advertising, Integer> entry : advertising.entrySet()) {
+            ObjectId advertisingId = new ObjectId(entry.getKey().getId());
+            Document item = mapLineItemToStoredDocument(entry.getKey(), entry.getValue());
+            Document program = programCollection.findOneAndUpdate(
+                    Filters.and(createIdQuery(programId), Filters.ne(ITEM_ADVERTISING_ID, advertisingId)),
+                    Updates.push(ADVERTISING_LIST, item),
+                    new FindOneAndUpdateOptions().projection(Projections.include(CAMPAIGN_TITLE)));
+            if (program != null) {
+                if (incrementalSummaries) {
+                    summaries.itemAdded(program.getString(CAMPAIGN_TITLE), item);
+                }
+            } else if (!updateAdvertisingQuantity(programId, entry.getKey().getId(), entry.getValue())) {
+                return false; // no such program
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateAdvertisingQuantity(String programId, String advertisingId, int quantity) {
+        ObjectId adId = new ObjectId(advertisingId);
+        Document before = programCollection.findOneAndUpdate(
+                Filters.and(createIdQuery(programId), Filters.eq(ITEM_ADVERTISING_ID, adId)),
+                Updates.set(ADVERTISING_LIST + ".$[" + ITEM + "]." + QUANTITY, quantity),
+                new FindOneAndUpdateOptions()
+                        .arrayFilters(List.of(Filters.eq(ITEM + "." + ADVERTISING + "._id", adId)))
+                        .projection(lineItemProjection(adId)));
+        if (before != null && incrementalSummaries) {
+            List<Document> items = before.getList(ADVERTISING_LIST, Document.class);
+            if (!items.isEmpty()) {
+                summaries.quantityChanged(before.getString(CAMPAIGN_TITLE), items.get(0), quantity);
+            }
+        }
+        return before != null;
     }
 
     @Override
     public boolean deleteAdvertisingFromProgram(String programId, String advertisingId) {
-        return false;
+        ObjectId adId = new ObjectId(advertisingId);
+        Document before = programCollection.findOneAndUpdate(
+                Filters.and(createIdQuery(programId), Filters.eq(ITEM_ADVERTISING_ID, adId)),
+                Updates.pull(ADVERTISING_LIST, Filters.eq(ADVERTISING + "._id", adId)),
+                new FindOneAndUpdateOptions().projection(lineItemProjection(adId)));
+        if (before != null && incrementalSummaries) {
+            List<Document> items = before.getList(ADVERTISING_LIST, Document.class);
+            if (!items.isEmpty()) {
+                summaries.itemRemoved(before.getString(CAMPAIGN_TITLE), items.get(0));
+            }
+        }
+        return before != null;
     }
 
     @Override
-    public String migrate(Program program) {
-        Document programDoc = mapProgramToDocumentMigration(program);
+    public String migrate(Program program, MigrationResolver resolver) {
+        Document programDoc = mapProgramToDocumentMigration(program, resolver);
         programCollection.insertOne(programDoc);
+        if (incrementalSummaries) {
+            summaries.added(List.of(programDoc));
+        }
         program.setId(programDoc.getObjectId("_id").toString());
         return program.getId();
     }
@@ -163,90 +330,106 @@ public class MongoProgramDAO implements ProgramDAO {
     public boolean update(Program entity) {
         Document query = createIdQuery(entity.getId());
         Document doc = mapProgramToDocument(entity);
-        return programCollection.updateOne(query, new Document("$set", doc)).wasAcknowledged();
+        List<String> changedFields = entity.getChangedFields().names().stream()
+                .map(name -> name.equals(Program.Fields.advertisings) ? ADVERTISING_LIST : name)
+                .toList();
+        Document update = MongoUpdates.setChanged(doc, changedFields);
+        Document set = update.get("$set", Document.class);
+        boolean updated;
+        if (incrementalSummaries && (set.containsKey(CAMPAIGN_TITLE) || set.containsKey(ADVERTISING_LIST))) {
+            // the summaries are keyed by campaign title and computed from the line items
+            Document before = programCollection.findOneAndUpdate(query, update, new FindOneAndUpdateOptions().projection(LINE_ITEM_FIELDS));
+            if (before != null) {
+                Document after = new Document(CAMPAIGN_TITLE, set.getOrDefault(CAMPAIGN_TITLE, before.get(CAMPAIGN_TITLE)))
+                        .append(ADVERTISING_LIST, set.getOrDefault(ADVERTISING_LIST, before.get(ADVERTISING_LIST)));
+                summaries.replaced(before, after);
+            }
+            updated = before != null;
+        } else {
+            updated = programCollection.updateOne(query, update).getMatchedCount() > 0;
+        }
+        if (updated) {
+            entity.getChangedFields().clear();
+        }
+        return updated;
     }
 
     @Override
     public boolean delete(String id) {
         Document query = createIdQuery(id);
-        return programCollection.deleteOne(query).wasAcknowledged();
+        if (!incrementalSummaries) {
+            return programCollection.deleteOne(query).getDeletedCount() > 0;
+        }
+        Document deleted = programCollection.findOneAndDelete(query, new FindOneAndDeleteOptions().projection(LINE_ITEM_FIELDS));
+        if (deleted != null) {
+            summaries.removed(deleted);
+        }
+        return deleted != null;
     }
 
 
     // Utility methods
-    private Program mapDocumentToProgram(Document programDoc) {
-        Program.Builder programBuilder = new Program.Builder()
-                .id(programDoc.getObjectId("_id").toString())
-                .campaignTitle(programDoc.getString(CAMPAIGN_TITLE))
-                .description(programDoc.getString(DESCRIPTION))
-                .createdAt(programDoc.getDate(CREATED_AT).toInstant().atZone(UTC).toLocalDateTime())
-                .client(mapDocumentToClient(programDoc.get(CLIENT, Document.class)));
-
-        List<Document> advertisingList = programDoc.getList(ADVERTISING_LIST, Document.class);
-        for (Document advertisingListItem : advertisingList) {
-            AbstractMap.SimpleEntry<Advertising, Integer> entry = mapAdvertisingListItem(advertisingListItem);
-            programBuilder.addAdvertising(entry.getKey(), entry.getValue());
+    private static List<LineItemView> mapDocumentToLineItems(Document programDoc) {
+        String programId = programDoc.getObjectId("_id").toString();
+        String campaignTitle = programDoc.getString(CAMPAIGN_TITLE);
+        List<Document> advertisingList = programDoc.getList(ADVERTISING_LIST, Document.class, List.of());
+        List<LineItemView> lineItems = new ArrayList<>(advertisingList.size());
+        for (Document item : advertisingList) {
+            Document adDoc = item.get(ADVERTISING, Document.class);
+            lineItems.add(new LineItemView(programId, campaignTitle, adDoc.getObjectId("_id").toString(),
+                    adDoc.get(CATEGORY, Document.class).getString(NAME), MongoMoney.toMoney(adDoc.get(UNIT_PRICE, Decimal128.class)),
+                    item.getInteger(QUANTITY)));
         }
-        return programBuilder.build();
-    }
-
-
-    private static AbstractMap.SimpleEntry<Advertising, Integer> mapAdvertisingListItem(Document advertisingDoc) {
-        Document adDoc = advertisingDoc.get(ADVERTISING, Document.class);
-        Advertising advertising = mapDocumentToAdvertising(adDoc);
-        return new AbstractMap.SimpleEntry<>(advertising, advertisingDoc.getInteger(QUANTITY));
-    }
-
-    private static Category mapDocumentToCategory(Document categoryDoc) {
-        return new Category(categoryDoc.getObjectId("_id").toString(), categoryDoc.getString(NAME));
-    }
-
-    private static Advertising mapDocumentToAdvertising(Document result) {
-        return new Advertising.Builder()
-                .id(result.getObjectId("_id").toString())
-                .name(result.getString(NAME))
-                .description(result.getString(DESCRIPTION))
-                .measurement(result.getString(MEASUREMENT))
-                .unitPrice(result.get(UNIT_PRICE, Decimal128.class).bigDecimalValue())
-                .updatedAt(result.getDate(UPDATED_AT).toInstant().atZone(UTC).toLocalDateTime())
-                .category(mapDocumentToCategory(result.get(CATEGORY, Document.class)))
-                .build();
-    }
-
-    private static Client mapDocumentToClient(Document clientDoc) {
-        return new Client.Builder()
-                .id(clientDoc.getObjectId("_id").toString())
-                .username(clientDoc.getString("username"))
-                .password(clientDoc.getString(PASSWORD))
-                .email(clientDoc.getString(EMAIL))
-                .firstname(clientDoc.getString("firstname"))
-                .lastname(clientDoc.getString("lastname"))
-                .phoneNumber(clientDoc.getString("phoneNumber"))
-                .build();
+        return lineItems;
     }
 
     private Document mapProgramToDocument(Program program) {
         Document programDoc = new Document(CAMPAIGN_TITLE, program.getCampaignTitle())
                 .append(DESCRIPTION, program.getDescription())
                 .append(CREATED_AT, Date.from(program.getCreatedAt().toInstant(UTC)))
-                .append(CLIENT, mapClientToDocument(program.getClient()));
+                .append(CLIENT, mapClientToStoredDocument(program.getClient()));
 
         List<Document> advertisingListDocs = new ArrayList<>();
         for (Map.Entry<Advertising, Integer> entry : program.getAdvertisings().entrySet()) {
-            Document advertisingListItem = new Document(ADVERTISING, mapAdvertisingToDocument(entry.getKey()))
-                    .append(QUANTITY, entry.getValue());
-            advertisingListDocs.add(advertisingListItem);
+            advertisingListDocs.add(mapLineItemToStoredDocument(entry.getKey(), entry.getValue()));
         }
         programDoc.append(ADVERTISING_LIST, advertisingListDocs);
         return programDoc;
     }
 
+    private static Document mapLineItemToDocument(Advertising advertising, int quantity) {
+        return new Document(ADVERTISING, mapAdvertisingToDocument(advertising)).append(QUANTITY, quantity);
+    }
+
+    private Document mapLineItemToStoredDocument(Advertising advertising, int quantity) {
+        if (!storage.isReference()) {
+            return mapLineItemToDocument(advertising, quantity);
+        }
+        Document reference = new Document("_id", new ObjectId(advertising.getId()));
+        if (storage.isPriceSnapshot()) {
+            reference.append(UNIT_PRICE, MongoMoney.toDecimal128(advertising.getUnitPrice()))
+                    .append(CATEGORY, new Document("_id", new ObjectId(advertising.getCategory().getId()))
+                            .append(NAME, advertising.getCategory().getName()));
+        }
+        return new Document(ADVERTISING, reference).append(QUANTITY, quantity);
+    }
+
+    private Document mapClientToStoredDocument(Client client) {
+        return storage.isReference() ? new Document("_id", new ObjectId(client.getId())) : mapClientToDocument(client);
+    }
+
+    // The campaign title and, of the line items, only the one with this advertising: what the summary deltas need
+    private static Bson lineItemProjection(ObjectId advertisingId) {
+        return Projections.fields(Projections.include(CAMPAIGN_TITLE),
+                Projections.elemMatch(ADVERTISING_LIST, Filters.eq(ADVERTISING + "._id", advertisingId)));
+    }
+
     private static Document mapAdvertisingToDocument(Advertising advertising) {
         return new Document("_id", new ObjectId(advertising.getId()))
                 .append(NAME, advertising.getName())
                 .append(DESCRIPTION, advertising.getDescription())
                 .append(MEASUREMENT, advertising.getMeasurement())
-                .append(UNIT_PRICE, new Decimal128(advertising.getUnitPrice()))
+                .append(UNIT_PRICE, MongoMoney.toDecimal128(advertising.getUnitPrice()))
                 .append(UPDATED_AT, advertising.getUpdatedAt())
                 .append(CATEGORY, new Document("_id", new ObjectId(advertising.getCategory().getId()))
                         .append(NAME, advertising.getCategory().getName()));
@@ -262,46 +445,60 @@ public class MongoProgramDAO implements ProgramDAO {
                 .append(PASSWORD, client.getPassword());
     }
 
-    private Document mapProgramToDocumentMigration(Program program) {
+    // Embeds the source snapshots with destination ids, so resolved references need no extra reads
+    private Document mapProgramToDocumentMigration(Program program, MigrationResolver resolver) {
+        Client source = program.getClient();
+        String clientId = resolver.clientId(source, client -> Objects.requireNonNull(
+                findClientIdByEmailAndPassword(client.getEmail(), client.getPassword())));
+        Client client = new Client(clientId, source.getUsername(), source.getFirstname(), source.getLastname(),
+                source.getPhoneNumber(), source.getEmail(), source.getPassword());
         Document programDoc = new Document(CAMPAIGN_TITLE, program.getCampaignTitle())
                 .append(DESCRIPTION, program.getDescription())
                 .append(CREATED_AT, Date.from(program.getCreatedAt().toInstant(UTC)))
-                .append(CLIENT, mapClientToDocument(Objects.requireNonNull(findClientByEmailAndPassword(
-                        program.getClient().getEmail(), program.getClient().getPassword()))));
+                .append(CLIENT, mapClientToStoredDocument(client));
 
         List<Document> advertisingListDocs = new ArrayList<>();
         for (Map.Entry<Advertising, Integer> entry : program.getAdvertisings().entrySet()) {
-            Document advertisingListItem = new Document(ADVERTISING, mapAdvertisingToDocumentMigration(
-                    Objects.requireNonNull(findAdvertisingByMultipleKeys(entry.getKey().getName(), entry.getKey().getMeasurement(), entry.getKey().getUnitPrice()))))
-                    .append(QUANTITY, entry.getValue());
-            advertisingListDocs.add(advertisingListItem);
+            advertisingListDocs.add(mapLineItemToStoredDocument(mapAdvertisingMigration(entry.getKey(), resolver), entry.getValue()));
         }
         programDoc.append(ADVERTISING_LIST, advertisingListDocs);
         return programDoc;
     }
 
-    private Document mapAdvertisingToDocumentMigration(Advertising advertising) {
-        Category category = findCategoryByName(advertising.getCategory().getName());
-        advertising.setCategory(category);
-        return mapAdvertisingToDocument(advertising);
+    private Advertising mapAdvertisingMigration(Advertising source, MigrationResolver resolver) {
+        String advertisingId = resolver.advertisingId(source, advertising -> Objects.requireNonNull(findAdvertisingIdByMultipleKeys(
+                advertising.getName(), advertising.getMeasurement(), advertising.getUnitPrice())));
+        String categoryName = source.getCategory().getName();
+        String categoryId = resolver.categoryId(source.getCategory(), name -> Objects.requireNonNull(findCategoryIdByName(name)));
+        return new Advertising(advertisingId, new Category(categoryId, categoryName), source.getName(),
+                source.getMeasurement(), source.getUnitPrice(), source.getDescription(), source.getUpdatedAt());
     }
 
-    private Category findCategoryByName(String name) {
+    // Migration lookups need only the destination id
+    private String findCategoryIdByName(String name) {
         Document query = new Document(NAME, name);
-        Document categoryDoc = MongoConnectionManager.getCollection(CATEGORY).find(query).first();
-        return categoryDoc != null ? mapDocumentToCategory(categoryDoc) : null;
+        return findId(CATEGORY, query);
     }
 
-    private Advertising findAdvertisingByMultipleKeys(String name, String measurement, BigDecimal unitPrice) {
-        Document query = new Document(NAME, name).append(MEASUREMENT, measurement).append(UNIT_PRICE, new Decimal128(unitPrice));
-        Document adDoc = MongoConnectionManager.getCollection(ADVERTISING).find(query).first();
-        return adDoc != null ? mapDocumentToAdvertising(adDoc) : null;
+    private String findAdvertisingIdByMultipleKeys(String name, String measurement, Money unitPrice) {
+        Document query = new Document(NAME, name).append(MEASUREMENT, measurement).append(UNIT_PRICE, MongoMoney.toDecimal128(unitPrice));
+        return findId(ADVERTISING, query);
     }
 
-    private Client findClientByEmailAndPassword(String email, String password) {
+    private String findClientIdByEmailAndPassword(String email, String password) {
         Document query = new Document(EMAIL, email).append(PASSWORD, password);
-        Document clientDoc = MongoConnectionManager.getCollection(CLIENT).find(query).first();
-        return clientDoc != null ? mapDocumentToClient(clientDoc) : null;
+        return findId(CLIENT, query);
+    }
+
+    private static String findId(String collection, Document query) {
+        Document doc = MongoConnectionManager.getCollection(collection).find(query).projection(ID_ONLY).first();
+        return doc != null ? doc.getObjectId("_id").toString() : null;
+    }
+
+    private List<Bson> withLineItemLookup(Bson... stages) {
+        List<Bson> pipeline = new ArrayList<>(lineItemLookup);
+        pipeline.addAll(Arrays.asList(stages));
+        return pipeline;
     }
 
     private Document createIdQuery(String id) {
@@ -0,0 +1,246 @@
+package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Field;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.nosql.vykhryst.dao.cache.EntityCache;
+import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.MongoMoney;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Money;
+import org.nosql.vykhryst.entity.Program;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoProgramDAO.*;
+
+/**
+ * Resolves the client and advertisings of programs stored as references (see {@link ProgramStorage}): a client without
+ * a username or an advertising without a name is only an {@code _id}, and is read back with one {@code $in} query per
+ * collection for a whole batch of programs. Advertisings go through the shared {@code advertising.byId} cache when one
+ * is given, which {@code CachingAdvertisingDAO} invalidates on every advertising write.
+ * Fully embedded programs pass through untouched, so collections holding both layouts read correctly.
+ */
+public class ProgramReferences {
+
+    // programs whose references are resolved together while streaming
+    private static final int STREAM_BATCH_SIZE = 100;
+    private static final String JOINED_ADVERTISINGS = "_advertisings";
+
+    private final MongoCollection<Client> clients;
+    private final MongoCollection<Advertising> advertisings;
+    private final EntityCache<String, Advertising> advertisingCache;
+
+    /**
+     * @param advertisingCache {@code null} to always query the advertising collection
+     */
+    public ProgramReferences(EntityCache<String, Advertising> advertisingCache) {
+        this.clients = MongoConnectionManager.getCollection(CLIENT, Client.class);
+        this.advertisings = MongoConnectionManager.getCollection(ADVERTISING, Advertising.class);
+        this.advertisingCache = advertisingCache;
+    }
+
+    public Program resolve(Program program) {
+        return resolve(List.of(program)).get(0);
+    }
+
+    public List<Program> resolve(List<Program> programs) {
+        Set<String> clientIds = programs.stream().map(Program::getClient)
+                .filter(ProgramReferences::isReference).map(Client::getId).collect(Collectors.toSet());
+        Set<String> advertisingIds = programs.stream().flatMap(program -> program.getAdvertisings().keySet().stream())
+                .filter(ProgramReferences::isReference).map(Advertising::getId).collect(Collectors.toSet());
+        if (clientIds.isEmpty() && advertisingIds.isEmpty()) {
+            return programs;
+        }
+        Map<String, Client> resolvedClients = findClients(clientIds);
+        Map<String, Advertising> resolvedAdvertisings = findAdvertisings(advertisingIds);
+        List<Program> result = new ArrayList<>(programs.size());
+        for (Program program : programs) {
+            result.add(resolve(program, resolvedClients, resolvedAdvertisings));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves {@link #STREAM_BATCH_SIZE} programs at a time; closing the result closes {@code programs}.
+     */
+    public Stream<Program> resolve(Stream<Program> programs) {
+        Iterator<Program> iterator = programs.iterator();
+        Iterator<List<Program>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<Program> next() {
+                List<Program> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+                while (batch.size() < STREAM_BATCH_SIZE && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(programs::close)
+                .flatMap(batch -> resolve(batch).stream());
+    }
+
+    /**
+     * Fills in the unit price and category name of line items stored as bare ids, so that program documents read with
+     * {@code LINE_ITEM_FIELDS} can feed the reports and {@link ProgramSummaries}. Line items of advertisings that no
+     * longer exist are left out: there is nothing to count them with. The returned operator remembers the advertisings
+     * it has looked up, so use one per report.
+     */
+    public UnaryOperator<Document> lineItemData() {
+        Map<String, Advertising> resolved = new HashMap<>();
+        return programDoc -> withLineItemData(programDoc, resolved);
+    }
+
+    /**
+     * Stages that give bare line item references back the embedded shape the report pipelines read: the advertisings
+     * are joined with {@code $lookup}, and each item's stored fields are merged over its advertising.
+     */
+    public static List<Bson> lookupStages() {
+        Document joined = new Document("$arrayElemAt", List.of(new Document("$filter",
+                new Document("input", "$" + JOINED_ADVERTISINGS)
+                        .append("cond", new Document("$eq", List.of("$$this._id", "$$item." + ADVERTISING + "._id")))), 0));
+        Document item = new Document(ADVERTISING, new Document("$mergeObjects", List.of(joined, "$$item." + ADVERTISING)))
+                .append(QUANTITY, "$$item." + QUANTITY);
+        return List.of(
+                Aggregates.lookup(ADVERTISING, ADVERTISING_LIST + "." + ADVERTISING + "._id", "_id", JOINED_ADVERTISINGS),
+                Aggregates.set(new Field<>(ADVERTISING_LIST, new Document("$map",
+                        new Document("input", "$" + ADVERTISING_LIST).append("as", "item").append("in", item)))),
+                Aggregates.project(Projections.exclude(JOINED_ADVERTISINGS)));
+    }
+
+    private Document withLineItemData(Document programDoc, Map<String, Advertising> resolved) {
+        List<Document> items = programDoc.getList(ADVERTISING_LIST, Document.class, List.of());
+        Set<String> missing = new HashSet<>();
+        for (Document item : items) {
+            Document advertising = item.get(ADVERTISING, Document.class);
+            if (!advertising.containsKey(UNIT_PRICE)) {
+                missing.add(advertising.getObjectId("_id").toString());
+            }
+        }
+        if (missing.isEmpty()) {
+            return programDoc;
+        }
+        missing.removeAll(resolved.keySet());
+        if (!missing.isEmpty()) {
+            Map<String, Advertising> found = findAdvertisings(missing);
+            missing.forEach(id -> resolved.put(id, found.get(id)));
+        }
+        List<Document> filled = new ArrayList<>(items.size());
+        for (Document item : items) {
+            Document advertisingDoc = item.get(ADVERTISING, Document.class);
+            if (advertisingDoc.containsKey(UNIT_PRICE)) {
+                filled.add(item);
+                continue;
+            }
+            Advertising advertising = resolved.get(advertisingDoc.getObjectId("_id").toString());
+            if (advertising != null) {
+                filled.add(new Document(item).append(ADVERTISING, new Document(advertisingDoc)
+                        .append(UNIT_PRICE, MongoMoney.toDecimal128(advertising.getUnitPrice()))
+                        .append(CATEGORY, new Document(NAME, advertising.getCategory().getName()))));
+            }
+        }
+        return new Document(programDoc).append(ADVERTISING_LIST, filled);
+    }
+
+    /**
+     * Replaces references with copies of the resolved documents. A line item's snapshot (see {@link ProgramStorage}),
+     * its unit price and category, wins over the advertising's current values, as an embedded copy would; the
+     * advertising's other fields aren't snapshotted and are always current.
+     */
+    static Program resolve(Program program, Map<String, Client> clients, Map<String, Advertising> advertisings) {
+        boolean hasReferences = isReference(program.getClient())
+                || program.getAdvertisings().keySet().stream().anyMatch(ProgramReferences::isReference);
+        if (!hasReferences) {
+            return program;
+        }
+        Client client = program.getClient();
+        Program.Builder builder = new Program.Builder()
+                .id(program.getId())
+                .campaignTitle(program.getCampaignTitle())
+                .description(program.getDescription())
+                .createdAt(program.getCreatedAt())
+                .client(isReference(client) ? copyOf(clients.getOrDefault(client.getId(), client)) : client);
+        program.getAdvertisings().forEach((advertising, quantity) -> {
+            Advertising stored = isReference(advertising) ? advertisings.get(advertising.getId()) : null;
+            builder.addAdvertising(stored != null ? copyOf(stored, advertising) : advertising, quantity);
+        });
+        return builder.build();
+    }
+
+    private Map<String, Client> findClients(Set<String> ids) {
+        Map<String, Client> result = new HashMap<>();
+        if (!ids.isEmpty()) {
+            clients.find(Filters.in("_id", toObjectIds(ids))).forEach(client -> result.put(client.getId(), client));
+        }
+        return result;
+    }
+
+    // Cached instances are shared, so callers only ever get copies of them
+    private Map<String, Advertising> findAdvertisings(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return advertisingCache != null ? advertisingCache.getAll(ids, this::loadAdvertisings) : loadAdvertisings(ids);
+    }
+
+    private Map<String, Advertising> loadAdvertisings(Set<String> ids) {
+        Map<String, Advertising> result = new HashMap<>();
+        advertisings.find(Filters.in("_id", toObjectIds(ids))).forEach(advertising -> result.put(advertising.getId(), advertising));
+        return result;
+    }
+
+    private static List<ObjectId> toObjectIds(Collection<String> ids) {
+        return ids.stream().map(ObjectId::new).toList();
+    }
+
+    private static boolean isReference(Client client) {
+        return client != null && client.getUsername() == null;
+    }
+
+    private static boolean isReference(Advertising advertising) {
+        return advertising.getName() == null;
+    }
+
+    private static Client copyOf(Client client) {
+        return new Client(client.getId(), client.getUsername(), client.getFirstname(), client.getLastname(),
+                client.getPhoneNumber(), client.getEmail(), client.getPassword());
+    }
+
+    private static Advertising copyOf(Advertising stored, Advertising reference) {
+        boolean snapshot = reference.getUnitPrice() != null;
+        Money unitPrice = snapshot ? reference.getUnitPrice() : stored.getUnitPrice();
+        Category category = snapshot ? snapshotCategory(reference.getCategory(), stored.getCategory()) : copyOf(stored.getCategory());
+        return new Advertising(stored.getId(), category, stored.getName(), stored.getMeasurement(), unitPrice,
+                stored.getDescription(), stored.getUpdatedAt());
+    }
+
+    // Snapshots written before they carried the category id name the category only; the id is the advertising's
+    private static Category snapshotCategory(Category snapshot, Category current) {
+        if (snapshot == null) {
+            return copyOf(current);
+        }
+        String id = snapshot.getId() != null || current == null ? snapshot.getId() : current.getId();
+        return new Category(id, snapshot.getName());
+    }
+
+    private static Category copyOf(Category category) {
+        return category != null ? new Category(category.getId(), category.getName()) : null;
+    }
+}
@@ -0,0 +1,56 @@
+package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+/**
+ * How {@link MongoProgramDAO} writes the client and the advertisings of a program:
+ * <ul>
+ *     <li>{@link Mode#EMBEDDED}: full copies of the client and of every advertising with its category;</li>
+ *     <li>{@link Mode#REFERENCE}: only their {@code _id}s, resolved again on read by {@link ProgramReferences}.
+ *     With {@code priceSnapshot} each line item also keeps the unit price and category it was added with, which
+ *     are all the reports and {@link ProgramSummaries} read, and which programs read back show instead of the
+ *     advertising's current ones; its name, measurement and description are always current.</li>
+ * </ul>
+ * Without the snapshot the line items are priced by the advertisings' current data, which the incremental summary
+ * deltas can't follow: an item would be added at one price and removed at another, and items of deleted advertisings
+ * have nothing to subtract. In that layout writes leave the summaries alone, and they only change on
+ * {@link MongoProgramDAO#rebuildSummaries()}; the other report paths resolve prices on every read.
+ * Both layouts keep {@code client._id} and {@code advertisingList.advertising._id}, so the indexes and the line item
+ * updates work on either, and reads accept documents of both shapes.
+ */
+@Getter
+@AllArgsConstructor
+public class ProgramStorage {
+
+    public enum Mode {
+        EMBEDDED, REFERENCE
+    }
+
+    private final Mode mode;
+    private final boolean priceSnapshot;
+
+    public static ProgramStorage fromProperties() {
+        return new ProgramStorage(
+                Mode.valueOf(PropertiesManager.getProperty("mongo.program.storage", "EMBEDDED").toUpperCase()),
+                Boolean.parseBoolean(PropertiesManager.getProperty("mongo.program.priceSnapshot", "true")));
+    }
+
+    public boolean isReference() {
+        return mode == Mode.REFERENCE;
+    }
+
+    /**
+     * Whether stored line items carry the unit price and category name, or only the advertising id; only then are
+     * the program summaries maintained on every write.
+     */
+    public boolean storesLineItemData() {
+        return mode == Mode.EMBEDDED || priceSnapshot;
+    }
+
+    @Override
+    public String toString() {
+        return isReference() && priceSnapshot ? mode + " with price snapshot" : mode.toString();
+    }
+}
@@ -0,0 +1,222 @@
+package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+import org.nosql.vykhryst.dao.mongodb.MongoMoney;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Sorts.orderBy;
+import static org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoProgramDAO.*;
+
+/**
+ * Materialized results of Запит 3 and Запит 5, kept up to date by {@link MongoProgramDAO} with {@code $inc} deltas:
+ * <ul>
+ *     <li>{@code program_cost_summary}: {@code _id} = campaign title, {@code totalCost}, {@code lineItems};</li>
+ *     <li>{@code category_popularity}: {@code _id} = category name, {@code count} of line items.</li>
+ * </ul>
+ * Rows whose line item count drops to zero are removed, matching the {@code $unwind} pipelines, which skip empty lists.
+ * The deltas are not transactional with the program write; {@link #rebuild} recomputes both collections from scratch
+ * and {@link #findInconsistencies} compares them with the on-the-fly pipelines.
+ */
+public class ProgramSummaries {
+
+    public static final String PROGRAM_COST_SUMMARY = "program_cost_summary";
+    public static final String CATEGORY_POPULARITY = "category_popularity";
+    private static final String TOTAL_COST = "totalCost";
+    private static final String LINE_ITEMS = "lineItems";
+    private static final String COUNT = "count";
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private final MongoCollection<Document> programCollection;
+    private final MongoCollection<Document> costCollection;
+    private final MongoCollection<Document> popularityCollection;
+    private final List<Bson> lineItemLookup;
+
+    /**
+     * @param lineItemLookup stages {@link #rebuild} runs first, e.g. {@link ProgramReferences#lookupStages} when the
+     *                       line items are stored without prices
+     */
+    public ProgramSummaries(MongoCollection<Document> programCollection, List<Bson> lineItemLookup) {
+        this.programCollection = programCollection;
+        this.lineItemLookup = lineItemLookup;
+        this.costCollection = MongoConnectionManager.getCollection(PROGRAM_COST_SUMMARY);
+        this.popularityCollection = MongoConnectionManager.getCollection(CATEGORY_POPULARITY);
+    }
+
+    public void added(Collection<Document> programDocs) {
+        Delta delta = new Delta();
+        programDocs.forEach(doc -> delta.add(doc, 1));
+        apply(delta);
+    }
+
+    public void removed(Document programDoc) {
+        Delta delta = new Delta();
+        delta.add(programDoc, -1);
+        apply(delta);
+    }
+
+    public void replaced(Document oldProgramDoc, Document newProgramDoc) {
+        Delta delta = new Delta();
+        delta.add(oldProgramDoc, -1);
+        delta.add(newProgramDoc, 1);
+        apply(delta);
+    }
+
+    public void itemAdded(String campaignTitle, Document item) {
+        Delta delta = new Delta();
+        delta.addItem(campaignTitle, item, 1);
+        apply(delta);
+    }
+
+    public void itemRemoved(String campaignTitle, Document item) {
+        Delta delta = new Delta();
+        delta.addItem(campaignTitle, item, -1);
+        apply(delta);
+    }
+
+    public void quantityChanged(String campaignTitle, Document oldItem, int quantity) {
+        Delta delta = new Delta();
+        delta.addItem(campaignTitle, oldItem, -1);
+        delta.addItem(campaignTitle, new Document(oldItem).append(QUANTITY, quantity), 1);
+        apply(delta);
+    }
+
+    public Map<String, BigDecimal> programCosts() {
+        Map<String, BigDecimal> result = new HashMap<>();
+        costCollection.find().forEach(doc -> result.put(doc.getString("_id"), doc.get(TOTAL_COST, Decimal128.class).bigDecimalValue()));
+        return result;
+    }
+
+    public Map<String, Integer> mostPopularCategories(int limit) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        popularityCollection.find().sort(orderBy(descending(COUNT), ascending("_id"))).limit(limit)
+                .forEach(doc -> result.put(doc.getString("_id"), doc.getInteger(COUNT)));
+        return result;
+    }
+
+    /**
+     * Recomputes both summaries from the program collection with {@code $out}, replacing their contents.
+     */
+    public void rebuild() {
+        programCollection.aggregate(withLineItemLookup(
+                Aggregates.unwind("$" + ADVERTISING_LIST),
+                Aggregates.group("$" + CAMPAIGN_TITLE,
+                        Accumulators.sum(TOTAL_COST, new Document("$multiply", List.of(
+                                "$" + ADVERTISING_LIST + "." + ADVERTISING + "." + UNIT_PRICE, "$" + ADVERTISING_LIST + "." + QUANTITY))),
+                        Accumulators.sum(LINE_ITEMS, 1)),
+                Aggregates.out(PROGRAM_COST_SUMMARY))).toCollection();
+        programCollection.aggregate(withLineItemLookup(
+                Aggregates.unwind("$" + ADVERTISING_LIST),
+                Aggregates.group("$" + ADVERTISING_LIST + "." + ADVERTISING + "." + CATEGORY + "." + NAME, Accumulators.sum(COUNT, 1)),
+                Aggregates.out(CATEGORY_POPULARITY))).toCollection();
+    }
+
+    /**
+     * Differences between the summaries and the reports computed on the fly; empty when they agree.
+     */
+    public List<String> findInconsistencies(Map<String, BigDecimal> programCosts, Map<String, Integer> categoryCounts) {
+        List<String> differences = new ArrayList<>();
+        compare(PROGRAM_COST_SUMMARY, programCosts(), programCosts, differences);
+        compare(CATEGORY_POPULARITY, mostPopularCategories(Integer.MAX_VALUE), categoryCounts, differences);
+        return differences;
+    }
+
+    private static <V extends Comparable<? super V>> void compare(String summary, Map<String, V> stored, Map<String, V> expected,
+                                                                  List<String> differences) {
+        Set<String> keys = new TreeSet<>(stored.keySet());
+        keys.addAll(expected.keySet());
+        for (String key : keys) {
+            V storedValue = stored.get(key);
+            V expectedValue = expected.get(key);
+            // compareTo, because Decimal128 sums keep the scale of their inputs
+            if (storedValue == null || expectedValue == null || storedValue.compareTo(expectedValue) != 0) {
+                differences.add(summary + " '" + key + "': stored " + storedValue + ", expected " + expectedValue);
+            }
+        }
+    }
+
+    private List<Bson> withLineItemLookup(Bson... stages) {
+        List<Bson> pipeline = new ArrayList<>(lineItemLookup);
+        pipeline.addAll(Arrays.asList(stages));
+        return pipeline;
+    }
+
+    private void apply(Delta delta) {
+        List<WriteModel<Document>> costUpdates = new ArrayList<>();
+        delta.costs.forEach((title, cost) -> {
+            int lineItems = delta.lineItems.getOrDefault(title, 0);
+            if (cost != 0 || lineItems != 0) {
+                costUpdates.add(new UpdateOneModel<>(Filters.eq("_id", title),
+                        Updates.combine(Updates.inc(TOTAL_COST, MongoMoney.toDecimal128(cost)), Updates.inc(LINE_ITEMS, lineItems)), UPSERT));
+            }
+        });
+        List<WriteModel<Document>> popularityUpdates = new ArrayList<>();
+        delta.categories.forEach((category, count) -> {
+            if (count != 0) {
+                popularityUpdates.add(new UpdateOneModel<>(Filters.eq("_id", category), Updates.inc(COUNT, count), UPSERT));
+            }
+        });
+
+        if (!costUpdates.isEmpty()) {
+            costCollection.bulkWrite(costUpdates, UNORDERED);
+        }
+        if (!popularityUpdates.isEmpty()) {
+            popularityCollection.bulkWrite(popularityUpdates, UNORDERED);
+        }
+        if (delta.hasRemovals()) {
+            deleteEmpty(costCollection, LINE_ITEMS, delta.costs.keySet());
+            deleteEmpty(popularityCollection, COUNT, delta.categories.keySet());
+        }
+    }
+
+    private static void deleteEmpty(MongoCollection<Document> collection, String counter, Set<String> keys) {
+        if (!keys.isEmpty()) {
+            Bson filter = Filters.and(Filters.in("_id", keys), Filters.lte(counter, 0));
+            collection.deleteMany(filter);
+        }
+    }
+
+    // Net change of both summaries; keys that cancel out (e.g. an unchanged line item on update) are skipped when applied
+    private static class Delta {
+        private final Map<String, Long> costs = new HashMap<>(); // minor units
+        private final Map<String, Integer> lineItems = new HashMap<>();
+        private final Map<String, Integer> categories = new HashMap<>();
+
+        void add(Document programDoc, int sign) {
+            String title = programDoc.getString(CAMPAIGN_TITLE);
+            for (Document item : programDoc.getList(ADVERTISING_LIST, Document.class, List.of())) {
+                addItem(title, item, sign);
+            }
+        }
+
+        void addItem(String title, Document item, int sign) {
+            Document advertising = item.get(ADVERTISING, Document.class);
+            long unitPrice = MongoMoney.minorUnits(advertising.get(UNIT_PRICE, Decimal128.class));
+            int quantity = item.getInteger(QUANTITY);
+            costs.merge(title, Math.multiplyExact(unitPrice, (long) sign * quantity), Math::addExact);
+            lineItems.merge(title, sign, Integer::sum);
+            categories.merge(advertising.get(CATEGORY, Document.class).getString(NAME), sign, Integer::sum);
+        }
+
+        boolean hasRemovals() {
+            return lineItems.values().stream().anyMatch(count -> count < 0)
+                    || categories.values().stream().anyMatch(count -> count < 0);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import org.nosql.vykhryst.util.DBException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Chunked JDBC batch inserts. With {@code rewriteBatchedStatements=true} in the JDBC URL Connector/J sends
+ * each chunk as one multi-row INSERT and still reports one generated key per row, in insertion order.
+ */
+public final class MySqlBatches {
+
+    private MySqlBatches() {
+    }
+
+    @FunctionalInterface
+    public interface StatementBinder<T> {
+        void bind(T entity, PreparedStatement stmt) throws SQLException;
+    }
+
+    public static <T> List<String> insertAll(MySqlConnectionManager connectionManager, String sql, Collection<T> entities,
+                                             int chunkSize, StatementBinder<T> binder, BiConsumer<T, String> idSetter) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<String> ids = new ArrayList<>(entities.size());
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = connectionManager.getConnection(false); // false - no auto commit, one transaction per chunk
+            stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            Iterator<T> iterator = entities.iterator();
+            List<T> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                binder.bind(entity, stmt);
+                stmt.addBatch();
+                chunk.add(entity);
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    stmt.executeBatch();
+                    assignKeys(stmt, chunk, idSetter, ids);
+                    connectionManager.commit(conn);
+                    chunk.clear();
+                }
+            }
+            return ids;
+        } catch (SQLException e) {
+            connectionManager.rollback(conn);
+            throw new DBException("Can't insert batch", e);
+        } finally {
+            connectionManager.close(stmt, conn);
+        }
+    }
+
+    public static <T> void assignKeys(Statement stmt, List<T> chunk, BiConsumer<T, String> idSetter,
+                                      List<String> ids) throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            for (T entity : chunk) {
+                if (!keys.next()) {
+                    throw new SQLException("Driver returned fewer generated keys than inserted rows");
+                }
+                String id = String.valueOf(keys.getLong(1));
+                idSetter.accept(entity, id);
+                ids.add(id);
+            }
+        }
+    }
+}
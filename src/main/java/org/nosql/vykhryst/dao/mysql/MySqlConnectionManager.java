@@ -5,7 +5,6 @@ import org.nosql.vykhryst.util.PropertiesManager;
 import org.nosql.vykhryst.util.DBException;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class MySqlConnectionManager {
@@ -21,11 +20,14 @@ public class MySqlConnectionManager {
         PASSWORD = PropertiesManager.getProperty("mysql.database.password");
     }
 
+    private final MySqlConnectionPool pool;
+
     private MySqlConnectionManager() {
         // Private constructor to prevent instantiation
+        pool = new MySqlConnectionPool(URL, USERNAME, PASSWORD, MySqlPoolConfig.fromProperties());
     }
 
-    public static MySqlConnectionManager getInstance() {
+    public static synchronized MySqlConnectionManager getInstance() {
         if (instance == null) {
             instance = new MySqlConnectionManager();
         }
@@ -37,7 +39,7 @@ public class MySqlConnectionManager {
     }
 
     public Connection getConnection(boolean autoCommit) throws SQLException {
-        Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        Connection connection = pool.borrow();
         connection.setAutoCommit(autoCommit);
         if (!autoCommit) {
             connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
@@ -45,6 +47,14 @@ public class MySqlConnectionManager {
         return connection;
     }
 
+    public PoolStatistics getPoolStatistics() {
+        return pool.getStatistics();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
     public void close(AutoCloseable... resources) throws DBException {
         for (AutoCloseable resource : resources) {
             if (resource != null) {
@@ -0,0 +1,329 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of physical JDBC connections.
+ * Borrowed connections are proxies: {@code close()} returns the physical connection to the pool
+ * instead of closing the socket, so DAOs keep using try-with-resources as before.
+ */
+public class MySqlConnectionPool {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final MySqlPoolConfig config;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PhysicalConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Borrow> active = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+
+    private volatile boolean shutdown;
+
+    public MySqlConnectionPool(String url, String username, String password, MySqlPoolConfig config) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mysql-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.getHousekeepingPeriodMs();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool is shut down");
+        }
+        long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            awaitPermit();
+        }
+        try {
+            PhysicalConnection physical = takeIdleOrCreate();
+            Connection proxy = wrap(physical);
+            active.put(proxy, new Borrow(physical, config.getLeakDetectionThresholdMs() > 0
+                    ? new Exception("Connection borrowed by " + Thread.currentThread().getName())
+                    : null));
+            recordBorrow(System.nanoTime() - start);
+            return proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void awaitPermit() throws SQLException {
+        waiters.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Timed out after " + config.getBorrowTimeoutMs()
+                        + " ms waiting for a connection (" + getStatistics() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    public PoolStatistics getStatistics() {
+        long borrows = borrowCount.sum();
+        return new PoolStatistics(
+                active.size(),
+                idle.size(),
+                total.get(),
+                waiters.get(),
+                borrows,
+                borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(borrowNanos.sum() / borrows),
+                TimeUnit.NANOSECONDS.toMicros(maxBorrowNanos.get()),
+                createdCount.sum(),
+                destroyedCount.sum(),
+                timeoutCount.sum(),
+                leakCount.sum());
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            destroy(physical);
+        }
+    }
+
+    private PhysicalConnection takeIdleOrCreate() throws SQLException {
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            if (!config.isValidateOnBorrow() || isValid(physical)) {
+                return physical;
+            }
+            destroy(physical);
+        }
+        return create();
+    }
+
+    private PhysicalConnection create() throws SQLException {
+        Connection raw = DriverManager.getConnection(url, username, password);
+        total.incrementAndGet();
+        createdCount.increment();
+        return new PhysicalConnection(raw, raw.getTransactionIsolation());
+    }
+
+    private boolean isValid(PhysicalConnection physical) {
+        try {
+            return physical.raw.isValid(config.getValidationTimeoutSec());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PhysicalConnection physical) {
+        total.decrementAndGet();
+        destroyedCount.increment();
+        try {
+            physical.raw.close();
+        } catch (SQLException e) {
+            // connection is being discarded anyway
+        }
+    }
+
+    private void release(Connection proxy) {
+        Borrow borrow = active.remove(proxy);
+        if (borrow == null) {
+            return;
+        }
+        PhysicalConnection physical = borrow.physical;
+        try {
+            if (shutdown || !reset(physical)) {
+                destroy(physical);
+            } else {
+                physical.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(physical);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean reset(PhysicalConnection physical) {
+        try {
+            Connection raw = physical.raw;
+            if (raw.isClosed()) {
+                return false;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback(); // discard work the borrower neither committed nor rolled back
+                raw.setAutoCommit(true);
+            }
+            if (raw.getTransactionIsolation() != physical.defaultIsolation) {
+                raw.setTransactionIsolation(physical.defaultIsolation);
+            }
+            raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.increment();
+        borrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            System.err.println("MySQL pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    private void evictIdle() {
+        long deadline = System.currentTimeMillis() - config.getIdleTimeoutMs();
+        Iterator<PhysicalConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && total.get() > config.getMinSize()) {
+            PhysicalConnection physical = iterator.next();
+            if (physical.lastUsed < deadline && idle.remove(physical)) {
+                destroy(physical);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!shutdown && total.get() < config.getMinSize() && permits.tryAcquire()) {
+            try {
+                PhysicalConnection physical = create();
+                physical.lastUsed = System.currentTimeMillis();
+                idle.offerLast(physical);
+            } catch (SQLException e) {
+                System.err.println("Can't pre-open MySQL connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = config.getLeakDetectionThresholdMs();
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Borrow borrow : active.values()) {
+            if (!borrow.reported && now - borrow.borrowedAt > threshold) {
+                borrow.reported = true;
+                leakCount.increment();
+                System.err.println("Possible connection leak: connection held for "
+                        + (now - borrow.borrowedAt) + " ms");
+                borrow.origin.printStackTrace();
+            }
+        }
+    }
+
+    private Connection wrap(PhysicalConnection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                MySqlConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnectionHandler(physical.raw));
+    }
+
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final Connection raw;
+        private volatile boolean closed;
+
+        private PooledConnectionHandler(Connection raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release((Connection) proxy);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + raw;
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(raw, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    private static final class PhysicalConnection {
+        private final Connection raw;
+        private final int defaultIsolation;
+        private volatile long lastUsed;
+
+        private PhysicalConnection(Connection raw, int defaultIsolation) {
+            this.raw = raw;
+            this.defaultIsolation = defaultIsolation;
+        }
+    }
+
+    private static final class Borrow {
+        private final PhysicalConnection physical;
+        private final Exception origin;
+        private final long borrowedAt = System.currentTimeMillis();
+        private volatile boolean reported;
+
+        private Borrow(PhysicalConnection physical, Exception origin) {
+            this.physical = physical;
+            this.origin = origin;
+        }
+    }
+}
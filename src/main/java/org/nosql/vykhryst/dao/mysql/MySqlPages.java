@@ -0,0 +1,88 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import org.nosql.vykhryst.util.DBException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pages: {@code WHERE key > last key ORDER BY key LIMIT ?}. The range starts at the previous page's last key
+ * in the index, so a page costs the same however deep it is, unlike {@code LIMIT ? OFFSET ?}, which reads and
+ * discards every skipped row.
+ */
+public final class MySqlPages {
+
+    private MySqlPages() {
+    }
+
+    /**
+     * Page of {@code select} (no WHERE clause) ordered by the auto-increment {@code idColumn}; {@code afterId} is
+     * {@code null} for the first page.
+     */
+    public static <T> List<T> findPage(MySqlConnectionManager connectionManager, String select, String idColumn,
+                                       String afterId, int limit, MySqlStreams.CursorReader<T> reader) {
+        checkLimit(limit);
+        String sql = select + " WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT ?";
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId != null ? Long.parseLong(afterId) : 0);
+            stmt.setInt(2, limit);
+            return readAll(stmt, reader);
+        } catch (SQLException e) {
+            throw new DBException("Can't read page", e);
+        }
+    }
+
+    /**
+     * Page of {@code select} ordered by the indexed {@code sortColumn}, then {@code idColumn} for equal values;
+     * {@code afterValue} and {@code afterId} come from the last row of the previous page, both {@code null} for the first.
+     * InnoDB secondary indexes end with the primary key, so an index on {@code sortColumn} serves both the range and the order.
+     */
+    public static <T> List<T> findPage(MySqlConnectionManager connectionManager, String select, String sortColumn,
+                                       String idColumn, String afterValue, String afterId, int limit,
+                                       MySqlStreams.CursorReader<T> reader) {
+        checkLimit(limit);
+        String order = " ORDER BY " + sortColumn + ", " + idColumn + " LIMIT ?";
+        String sql = afterValue == null ? select + order
+                : select + " WHERE (" + sortColumn + ", " + idColumn + ") > (?, ?)" + order;
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (afterValue != null) {
+                stmt.setString(index++, afterValue);
+                stmt.setLong(index++, Long.parseLong(afterId));
+            }
+            stmt.setInt(index, limit);
+            return readAll(stmt, reader);
+        } catch (SQLException e) {
+            throw new DBException("Can't read page", e);
+        }
+    }
+
+    /**
+     * Rejects page sizes that aren't positive, to match the Mongo pages, where {@code limit(0)} would read everything.
+     */
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+    }
+
+    public static <T> List<T> readAll(PreparedStatement stmt, MySqlStreams.CursorReader<T> reader) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            List<T> result = new ArrayList<>();
+            for (T row = reader.next(rs); row != null; row = reader.next(rs)) {
+                result.add(row);
+            }
+            return result;
+        }
+    }
+
+    public static <T> MySqlStreams.CursorReader<T> rows(MySqlStreams.RowMapper<T> mapper) {
+        return rs -> rs.next() ? mapper.map(rs) : null;
+    }
+}
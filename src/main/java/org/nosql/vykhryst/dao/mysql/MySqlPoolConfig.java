@@ -0,0 +1,51 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.nosql.vykhryst.util.DBException;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+@Getter
+@ToString
+public class MySqlPoolConfig {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+    private final boolean validateOnBorrow;
+    private final int validationTimeoutSec;
+    private final long leakDetectionThresholdMs;
+    private final long housekeepingPeriodMs;
+
+    public MySqlPoolConfig(int minSize, int maxSize, long idleTimeoutMs, long borrowTimeoutMs,
+                           boolean validateOnBorrow, int validationTimeoutSec,
+                           long leakDetectionThresholdMs, long housekeepingPeriodMs) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new DBException("Invalid MySQL pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        if (borrowTimeoutMs < 0 || idleTimeoutMs <= 0 || housekeepingPeriodMs <= 0) {
+            throw new DBException("Invalid MySQL pool timeouts");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.validateOnBorrow = validateOnBorrow;
+        this.validationTimeoutSec = validationTimeoutSec;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.housekeepingPeriodMs = housekeepingPeriodMs;
+    }
+
+    public static MySqlPoolConfig fromProperties() {
+        return new MySqlPoolConfig(
+                Integer.parseInt(PropertiesManager.getProperty("mysql.pool.minSize", "2")),
+                Integer.parseInt(PropertiesManager.getProperty("mysql.pool.maxSize", "10")),
+                Long.parseLong(PropertiesManager.getProperty("mysql.pool.idleTimeoutMs", "600000")),
+                Long.parseLong(PropertiesManager.getProperty("mysql.pool.borrowTimeoutMs", "30000")),
+                Boolean.parseBoolean(PropertiesManager.getProperty("mysql.pool.validateOnBorrow", "true")),
+                Integer.parseInt(PropertiesManager.getProperty("mysql.pool.validationTimeoutSec", "2")),
+                Long.parseLong(PropertiesManager.getProperty("mysql.pool.leakDetectionThresholdMs", "0")),
+                Long.parseLong(PropertiesManager.getProperty("mysql.pool.housekeepingPeriodMs", "30000")));
+    }
+}
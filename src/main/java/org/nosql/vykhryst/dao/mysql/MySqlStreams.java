@@ -0,0 +1,75 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import org.nosql.vykhryst.util.DBException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily reads query results row by row using MySQL result set streaming, so only the current row is held in memory.
+ * The returned stream keeps a pooled connection until it is closed.
+ */
+public final class MySqlStreams {
+
+    private MySqlStreams() {
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Reads the next element, moving the cursor as far as it needs. Returns {@code null} when there are no more elements.
+     */
+    @FunctionalInterface
+    public interface CursorReader<T> {
+        T next(ResultSet rs) throws SQLException;
+    }
+
+    public static <T> Stream<T> stream(MySqlConnectionManager connectionManager, String sql, RowMapper<T> mapper) {
+        return read(connectionManager, sql, rs -> rs.next() ? mapper.map(rs) : null);
+    }
+
+    public static <T> Stream<T> read(MySqlConnectionManager connectionManager, String sql, CursorReader<T> reader) {
+        Connection conn = null;
+        Statement st = null;
+        ResultSet rs = null;
+        try {
+            conn = connectionManager.getConnection();
+            st = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            st.setFetchSize(Integer.MIN_VALUE); // Connector/J: stream rows instead of buffering the whole result
+            rs = st.executeQuery(sql);
+        } catch (SQLException e) {
+            connectionManager.close(rs, st, conn);
+            throw new DBException("Can't open result stream", e);
+        }
+        Connection connection = conn;
+        Statement statement = st;
+        ResultSet resultSet = rs;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    T next = reader.next(resultSet);
+                    if (next == null) {
+                        return false;
+                    }
+                    action.accept(next);
+                    return true;
+                } catch (SQLException e) {
+                    throw new DBException("Can't read result stream", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> connectionManager.close(resultSet, statement, connection));
+    }
+}
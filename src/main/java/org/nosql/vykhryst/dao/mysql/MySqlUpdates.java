@@ -0,0 +1,52 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import org.nosql.vykhryst.entity.ChangedFields;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * {@code UPDATE ... WHERE id = ?} that sets only the columns of the changed properties, see {@link ChangedFields}.
+ * When none of the mapped properties is marked changed, every column is written as before.
+ */
+public final class MySqlUpdates {
+
+    private MySqlUpdates() {
+    }
+
+    @FunctionalInterface
+    public interface ColumnBinder<T> {
+        void bind(T entity, PreparedStatement stmt, int index) throws SQLException;
+    }
+
+    public record Column<T>(String property, String name, ColumnBinder<T> binder) {
+    }
+
+    public static <T> Column<T> column(String property, String name, ColumnBinder<T> binder) {
+        return new Column<>(property, name, binder);
+    }
+
+    /**
+     * Returns the number of matched rows.
+     */
+    public static <T> int update(Connection conn, String table, List<Column<T>> columns, T entity, ChangedFields changed,
+                                 long id) throws SQLException {
+        List<Column<T>> set = columns.stream().filter(column -> changed.contains(column.property())).toList();
+        if (set.isEmpty()) {
+            set = columns;
+        }
+        StringJoiner sql = new StringJoiner(", ", "UPDATE " + table + " SET ", " WHERE id = ?");
+        set.forEach(column -> sql.add(column.name() + " = ?"));
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Column<T> column : set) {
+                column.binder().bind(entity, stmt, index++);
+            }
+            stmt.setLong(index, id);
+            return stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.nosql.vykhryst.dao.mysql;
+
+import lombok.Value;
+
+/**
+ * Point-in-time snapshot of {@link MySqlConnectionPool} state.
+ * Borrow latencies are in microseconds and include time spent waiting for a free slot.
+ */
+@Value
+public class PoolStatistics {
+    int active;
+    int idle;
+    int total;
+    int waiters;
+    long borrowCount;
+    long averageBorrowMicros;
+    long maxBorrowMicros;
+    long createdCount;
+    long destroyedCount;
+    long timeoutCount;
+    long leakCount;
+}
@@ -1,23 +1,40 @@
 package org.nosql.vykhryst.dao.mysql.mysqlEntityDao;
 
 
+import org.nosql.vykhryst.dao.MigrationResolver;
 import org.nosql.vykhryst.dao.entityDao.AdvertisingDAO;
+import org.nosql.vykhryst.dao.mysql.MySqlBatches;
 import org.nosql.vykhryst.dao.mysql.MySqlConnectionManager;
+import org.nosql.vykhryst.dao.mysql.MySqlPages;
+import org.nosql.vykhryst.dao.mysql.MySqlStreams;
+import org.nosql.vykhryst.dao.mysql.MySqlUpdates;
 import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.AdvertisingView;
 import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Money;
 import org.nosql.vykhryst.util.DBException;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class MySqlAdvertisingDAO implements AdvertisingDAO {
     private static final String SELECT_ALL_AD = "SELECT a.id, c.id, c.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at FROM advertising a LEFT JOIN category c ON a.category_id = c.id";
     private static final String SELECT_AD_BY_ID = "SELECT a.id, c.id, c.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at  FROM advertising a LEFT JOIN category c ON a.category_id = c.id WHERE a.id = ?;";
     private static final String SELECT_AD_BY_NAME = "SELECT a.id, c.id, c.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at  FROM advertising a LEFT JOIN category c ON a.category_id = c.id WHERE a.name = ?;";
+    private static final String SELECT_ALL_AD_VIEWS = "SELECT a.id, a.name, c.name, a.unit_price FROM advertising a LEFT JOIN category c ON a.category_id = c.id";
+    private static final String SELECT_CATEGORY_ID_BY_NAME = "SELECT id FROM category WHERE name = ?";
     private static final String INSERT_AD = "INSERT INTO advertising (category_id, name, measurement, unit_price, description) VALUES (?, ?, ?, ?, ?)";
-    private static final String UPDATE_AD = "UPDATE advertising SET category_id = ?, name = ?, measurement = ?, unit_price = ?, description = ? WHERE id = ?";
+    // updatable columns, in the order of a full update; updated_at is maintained by MySQL
+    private static final List<MySqlUpdates.Column<Advertising>> UPDATE_COLUMNS = List.of(
+            MySqlUpdates.column(Advertising.Fields.category, "category_id", (ad, stmt, i) -> stmt.setLong(i, Long.parseLong(ad.getCategory().getId()))),
+            MySqlUpdates.column(Advertising.Fields.name, "name", (ad, stmt, i) -> stmt.setString(i, ad.getName())),
+            MySqlUpdates.column(Advertising.Fields.measurement, "measurement", (ad, stmt, i) -> stmt.setString(i, ad.getMeasurement())),
+            MySqlUpdates.column(Advertising.Fields.unitPrice, "unit_price", (ad, stmt, i) -> stmt.setBigDecimal(i, ad.getUnitPrice().toBigDecimal())),
+            MySqlUpdates.column(Advertising.Fields.description, "description", (ad, stmt, i) -> stmt.setString(i, ad.getDescription())));
     private static final String DELETE_AD_BY_ID = "DELETE FROM advertising WHERE id = ?";
     private final MySqlConnectionManager mySqlConnectionManager;
 
@@ -55,6 +72,29 @@ public class MySqlAdvertisingDAO implements AdvertisingDAO {
         }
     }
 
+    @Override
+    public Stream<Advertising> streamAll() {
+        return MySqlStreams.stream(mySqlConnectionManager, SELECT_ALL_AD, MySqlAdvertisingDAO::mapAdvertising);
+    }
+
+    @Override
+    public List<Advertising> findPage(String afterId, int limit) {
+        return MySqlPages.findPage(mySqlConnectionManager, SELECT_ALL_AD, "a.id", afterId, limit,
+                MySqlPages.rows(MySqlAdvertisingDAO::mapAdvertising));
+    }
+
+    @Override
+    public List<Advertising> findPageByName(String afterName, String afterId, int limit) {
+        return MySqlPages.findPage(mySqlConnectionManager, SELECT_ALL_AD, "a.name", "a.id", afterName, afterId, limit,
+                MySqlPages.rows(MySqlAdvertisingDAO::mapAdvertising));
+    }
+
+    @Override
+    public Stream<AdvertisingView> streamViews() {
+        return MySqlStreams.stream(mySqlConnectionManager, SELECT_ALL_AD_VIEWS, rs -> new AdvertisingView(
+                Long.toString(rs.getLong("a.id")), rs.getString("a.name"), rs.getString("c.name"), Money.parse(rs.getString("a.unit_price"))));
+    }
+
     @Override
     public String save(Advertising advertising) {
         try (Connection conn = mySqlConnectionManager.getConnection();
@@ -71,14 +111,21 @@ public class MySqlAdvertisingDAO implements AdvertisingDAO {
         }
     }
 
+    @Override
+    public List<String> saveAll(Collection<Advertising> advertisings, int chunkSize) {
+        return MySqlBatches.insertAll(mySqlConnectionManager, INSERT_AD, advertisings, chunkSize,
+                MySqlAdvertisingDAO::setStatement, Advertising::setId);
+    }
 
     @Override
     public boolean update(Advertising advertising) {
-        try (Connection conn = mySqlConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_AD)) {
-            setStatement(advertising, stmt);
-            stmt.setLong(6, Long.parseLong(advertising.getId()));
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = mySqlConnectionManager.getConnection()) {
+            boolean updated = MySqlUpdates.update(conn, "advertising", UPDATE_COLUMNS, advertising, advertising.getChangedFields(),
+                    Long.parseLong(advertising.getId())) > 0;
+            if (updated) {
+                advertising.getChangedFields().clear();
+            }
+            return updated;
         } catch (SQLException e) {
             throw new DBException("Can't update advertising", e);
         }
@@ -109,18 +156,21 @@ public class MySqlAdvertisingDAO implements AdvertisingDAO {
         }
     }
 
-    public String migrate(Advertising advertising) {
+    @Override
+    public String migrate(Advertising advertising, MigrationResolver resolver) {
+        String categoryId = resolver.categoryId(advertising.getCategory(), this::findCategoryIdByName);
         try (Connection conn = mySqlConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(INSERT_AD, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setLong(1, Long.parseLong(findCategoryByName(advertising.getCategory().getName()).getId()));
+            stmt.setLong(1, Long.parseLong(categoryId));
             stmt.setString(2, advertising.getName());
             stmt.setString(3, advertising.getMeasurement());
-            stmt.setBigDecimal(4, advertising.getUnitPrice());
+            stmt.setBigDecimal(4, advertising.getUnitPrice().toBigDecimal());
             stmt.setString(5, advertising.getDescription());
             stmt.executeUpdate();
             ResultSet generatedKeys = stmt.getGeneratedKeys();
             if (generatedKeys.next()) {
                 advertising.setId(String.valueOf(generatedKeys.getLong(1)));
+                resolver.registerAdvertising(advertising);
             }
             return advertising.getId();
         } catch (SQLException e) {
@@ -128,17 +178,13 @@ public class MySqlAdvertisingDAO implements AdvertisingDAO {
         }
     }
 
-    private Category findCategoryByName(String name) {
-        Category category = null;
+    private String findCategoryIdByName(String name) {
         try (Connection conn = mySqlConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM category WHERE name = ?")) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CATEGORY_ID_BY_NAME)) {
             stmt.setString(1, name);
             try (ResultSet rs = stmt.executeQuery()) {
-                if(rs.next()) {
-                    category = new Category(Long.toString(rs.getInt("id")), rs.getString("name"));
-                }
+                return rs.next() ? Long.toString(rs.getLong("id")) : null;
             }
-            return category;
         } catch (SQLException e) {
             throw new DBException("Can't get category by name", e);
         }
@@ -149,7 +195,7 @@ public class MySqlAdvertisingDAO implements AdvertisingDAO {
                 .id(Long.toString(rs.getInt("a.id")))
                 .name(rs.getString("a.name"))
                 .measurement(rs.getString("a.measurement"))
-                .unitPrice(rs.getBigDecimal("a.unit_price"))
+                .unitPrice(Money.parse(rs.getString("a.unit_price")))
                 .description(rs.getString("a.description"))
                 .category(new Category(Long.toString(rs.getInt("c.id")), rs.getString("c.name")))
                 .updatedAt(rs.getTimestamp("a.updated_at").toLocalDateTime())
@@ -160,7 +206,7 @@ public class MySqlAdvertisingDAO implements AdvertisingDAO {
         stmt.setLong(1, Long.parseLong(advertising.getCategory().getId()));
         stmt.setString(2, advertising.getName());
         stmt.setString(3, advertising.getMeasurement());
-        stmt.setBigDecimal(4, advertising.getUnitPrice());
+        stmt.setBigDecimal(4, advertising.getUnitPrice().toBigDecimal());
         stmt.setString(5, advertising.getDescription());
     }
 }
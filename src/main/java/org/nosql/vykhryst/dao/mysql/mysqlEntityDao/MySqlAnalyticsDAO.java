@@ -0,0 +1,114 @@
+package org.nosql.vykhryst.dao.mysql.mysqlEntityDao;
+
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
+import org.nosql.vykhryst.dao.mysql.MySqlConnectionManager;
+import org.nosql.vykhryst.entity.Money;
+import org.nosql.vykhryst.util.DBException;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class MySqlAnalyticsDAO implements AnalyticsDAO {
+
+    private static final String COUNT_ADS_PER_CATEGORY = "SELECT c.name, COUNT(*) AS ad_count\n" +
+            "FROM advertising a INNER JOIN category c ON a.category_id = c.id GROUP BY c.name";
+    // SUM and COUNT rather than AVG, which MySQL rounds to 4 more decimal places than the column
+    private static final String SUM_AD_PRICE_PER_CATEGORY = "SELECT c.name, SUM(a.unit_price) AS price_sum, COUNT(*) AS ad_count\n" +
+            "FROM advertising a INNER JOIN category c ON a.category_id = c.id GROUP BY c.name";
+    private static final String PROGRAM_COST = "SELECT p.campaign_title, SUM(a.unit_price * pa.quantity) AS total_cost\n" +
+            "FROM program p INNER JOIN program_advertising pa ON p.id = pa.program_id INNER JOIN advertising a ON pa.advertising_id = a.id\n" +
+            "GROUP BY p.campaign_title";
+    private static final String ADS_IN_PRICE_RANGE = "SELECT a.name, a.unit_price FROM advertising a WHERE a.unit_price BETWEEN ? AND ? ORDER BY a.id";
+    private static final String MOST_POPULAR_CATEGORIES = "SELECT c.name, COUNT(*) AS item_count\n" +
+            "FROM program_advertising pa INNER JOIN advertising a ON pa.advertising_id = a.id INNER JOIN category c ON a.category_id = c.id\n" +
+            "GROUP BY c.name ORDER BY item_count DESC, c.name LIMIT ?";
+
+    private final MySqlConnectionManager connectionManager;
+
+    public MySqlAnalyticsDAO() {
+        this.connectionManager = MySqlConnectionManager.getInstance();
+    }
+
+    @Override
+    public Map<String, Integer> countAdsPerCategory() {
+        try (Connection conn = connectionManager.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(COUNT_ADS_PER_CATEGORY)) {
+            Map<String, Integer> result = new HashMap<>();
+            while (rs.next()) {
+                result.put(rs.getString("c.name"), rs.getInt("ad_count"));
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new DBException("Can't count advertising per category", e);
+        }
+    }
+
+    @Override
+    public Map<String, Double> averageAdPricePerCategory() {
+        try (Connection conn = connectionManager.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(SUM_AD_PRICE_PER_CATEGORY)) {
+            Map<String, Double> result = new HashMap<>();
+            while (rs.next()) {
+                result.put(rs.getString("c.name"), Money.parse(rs.getString("price_sum")).toDouble() / rs.getLong("ad_count"));
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new DBException("Can't get average advertising price per category", e);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> calculateProgramCost() {
+        try (Connection conn = connectionManager.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(PROGRAM_COST)) {
+            Map<String, BigDecimal> result = new HashMap<>();
+            while (rs.next()) {
+                result.put(rs.getString("p.campaign_title"), rs.getBigDecimal("total_cost"));
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new DBException("Can't calculate program cost", e);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> getAdsInPriceRange(int minPrice, int maxPrice) {
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement st = conn.prepareStatement(ADS_IN_PRICE_RANGE)) {
+            st.setInt(1, minPrice);
+            st.setInt(2, maxPrice);
+            try (ResultSet rs = st.executeQuery()) {
+                Map<String, BigDecimal> result = new HashMap<>();
+                while (rs.next()) {
+                    result.put(rs.getString("a.name"), rs.getBigDecimal("a.unit_price"));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new DBException("Can't get advertising in price range", e);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getMostPopularAdCategories(int limit) {
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement st = conn.prepareStatement(MOST_POPULAR_CATEGORIES)) {
+            st.setInt(1, limit);
+            try (ResultSet rs = st.executeQuery()) {
+                Map<String, Integer> result = new LinkedHashMap<>();
+                while (rs.next()) {
+                    result.put(rs.getString("c.name"), rs.getInt("item_count"));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new DBException("Can't get most popular advertising categories", e);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package org.nosql.vykhryst.dao.mysql.mysqlEntityDao;
 
 import org.nosql.vykhryst.dao.entityDao.CategoryDAO;
+import org.nosql.vykhryst.dao.mysql.MySqlBatches;
 import org.nosql.vykhryst.dao.mysql.MySqlConnectionManager;
+import org.nosql.vykhryst.dao.mysql.MySqlPages;
+import org.nosql.vykhryst.dao.mysql.MySqlStreams;
 import org.nosql.vykhryst.entity.Category;
 import org.nosql.vykhryst.util.DBException;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class MySqlCategoryDAO implements CategoryDAO {
     private static final String SELECT_ALL = "SELECT id, name FROM category";
@@ -52,6 +57,22 @@ public class MySqlCategoryDAO implements CategoryDAO {
         }
     }
 
+    @Override
+    public Stream<Category> streamAll() {
+        return MySqlStreams.stream(mySqlConnectionManager, SELECT_ALL, MySqlCategoryDAO::mapCategory);
+    }
+
+    @Override
+    public List<Category> findPage(String afterId, int limit) {
+        return MySqlPages.findPage(mySqlConnectionManager, SELECT_ALL, "id", afterId, limit, MySqlPages.rows(MySqlCategoryDAO::mapCategory));
+    }
+
+    @Override
+    public List<Category> findPageByName(String afterName, String afterId, int limit) {
+        return MySqlPages.findPage(mySqlConnectionManager, SELECT_ALL, "name", "id", afterName, afterId, limit,
+                MySqlPages.rows(MySqlCategoryDAO::mapCategory));
+    }
+
     @Override
     public String save(Category category) {
         try (Connection conn = mySqlConnectionManager.getConnection();
@@ -68,13 +89,23 @@ public class MySqlCategoryDAO implements CategoryDAO {
         }
     }
 
+    @Override
+    public List<String> saveAll(Collection<Category> categories, int chunkSize) {
+        return MySqlBatches.insertAll(mySqlConnectionManager, INSERT_CATEGORY, categories, chunkSize,
+                (category, stmt) -> stmt.setString(1, category.getName()), Category::setId);
+    }
+
     @Override
     public boolean update(Category entity) {
         try (Connection conn = mySqlConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_CATEGORY)) {
             stmt.setString(1, entity.getName());
             stmt.setLong(2, Long.parseLong(entity.getId()));
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                entity.getChangedFields().clear(); // name is the only column
+            }
+            return updated;
         } catch (SQLException e) {
             throw new DBException("Can't update category", e);
         }
@@ -105,9 +136,6 @@ public class MySqlCategoryDAO implements CategoryDAO {
     }
 
     private static Category mapCategory(ResultSet rs) throws SQLException {
-        Category category = new Category();
-        category.setId(String.valueOf(rs.getInt(1)));
-        category.setName(rs.getString(2));
-        return category;
+        return new Category(String.valueOf(rs.getInt(1)), rs.getString(2));
     }
 }
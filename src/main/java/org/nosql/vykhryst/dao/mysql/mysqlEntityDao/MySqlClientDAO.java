@@ -2,24 +2,38 @@ package org.nosql.vykhryst.dao.mysql.mysqlEntityDao;
 
 
 import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.dao.mysql.MySqlBatches;
 import org.nosql.vykhryst.dao.mysql.MySqlConnectionManager;
+import org.nosql.vykhryst.dao.mysql.MySqlPages;
+import org.nosql.vykhryst.dao.mysql.MySqlStreams;
+import org.nosql.vykhryst.dao.mysql.MySqlUpdates;
 import org.nosql.vykhryst.entity.Client;
 import org.nosql.vykhryst.util.DBException;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class MySqlClientDAO implements ClientDAO {
 
-    private static final String SELECT_ALL_CLIENTS = "SELECT * FROM client";
-    private static final String SELECT_CLIENT_BY_ID = "SELECT * FROM client WHERE id = ?";
-    public static final String SELECT_CLIENT_BY_USERNAME = "SELECT * FROM client WHERE username = ?";
+    private static final String SELECT_CLIENT = "SELECT id, username, firstname, lastname, phone_number, email, password FROM client";
+    private static final String SELECT_ALL_CLIENTS = SELECT_CLIENT;
+    private static final String SELECT_CLIENT_BY_ID = SELECT_CLIENT + " WHERE id = ?";
+    public static final String SELECT_CLIENT_BY_USERNAME = SELECT_CLIENT + " WHERE username = ?";
     private static final String INSERT_CLIENT = "INSERT INTO client (username, firstname, lastname, phone_number, email, password) VALUES (?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE_CLIENT = "UPDATE client SET username = ?, firstname = ?, lastname = ?, phone_number = ?, email = ?, password = ? WHERE id = ?";
+    // updatable columns, in the order of a full update
+    private static final List<MySqlUpdates.Column<Client>> UPDATE_COLUMNS = List.of(
+            MySqlUpdates.column(Client.Fields.username, "username", (client, stmt, i) -> stmt.setString(i, client.getUsername())),
+            MySqlUpdates.column(Client.Fields.firstname, "firstname", (client, stmt, i) -> stmt.setString(i, client.getFirstname())),
+            MySqlUpdates.column(Client.Fields.lastname, "lastname", (client, stmt, i) -> stmt.setString(i, client.getLastname())),
+            MySqlUpdates.column(Client.Fields.phoneNumber, "phone_number", (client, stmt, i) -> stmt.setString(i, client.getPhoneNumber())),
+            MySqlUpdates.column(Client.Fields.email, "email", (client, stmt, i) -> stmt.setString(i, client.getEmail())),
+            MySqlUpdates.column(Client.Fields.password, "password", (client, stmt, i) -> stmt.setString(i, client.getPassword())));
     private static final String DELETE_CLIENT_BY_ID = "DELETE FROM client WHERE id = ?";
-    public static final String SELECT_BY_EMAIL_AND_PASSWORD = "SELECT * FROM client WHERE email = ? AND password = ?";
+    public static final String SELECT_BY_EMAIL_AND_PASSWORD = SELECT_CLIENT + " WHERE email = ? AND password = ?";
     private final MySqlConnectionManager mySqlConnectionManager;
 
     public MySqlClientDAO() {
@@ -54,6 +68,22 @@ public class MySqlClientDAO implements ClientDAO {
         }
     }
 
+    @Override
+    public Stream<Client> streamAll() {
+        return MySqlStreams.stream(mySqlConnectionManager, SELECT_ALL_CLIENTS, this::mapClient);
+    }
+
+    @Override
+    public List<Client> findPage(String afterId, int limit) {
+        return MySqlPages.findPage(mySqlConnectionManager, SELECT_CLIENT, "id", afterId, limit, MySqlPages.rows(this::mapClient));
+    }
+
+    @Override
+    public List<Client> findPageByUsername(String afterUsername, String afterId, int limit) {
+        return MySqlPages.findPage(mySqlConnectionManager, SELECT_CLIENT, "username", "id", afterUsername, afterId, limit,
+                MySqlPages.rows(this::mapClient));
+    }
+
     @Override
     public String save(Client client) {
         try (Connection conn = mySqlConnectionManager.getConnection();
@@ -71,13 +101,21 @@ public class MySqlClientDAO implements ClientDAO {
         }
     }
 
+    @Override
+    public List<String> saveAll(Collection<Client> clients, int chunkSize) {
+        return MySqlBatches.insertAll(mySqlConnectionManager, INSERT_CLIENT, clients, chunkSize,
+                MySqlClientDAO::setClientStatement, Client::setId);
+    }
+
     @Override
     public boolean update(Client client) {
-        try (Connection conn = mySqlConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_CLIENT)) {
-            setClientStatement(client, stmt);
-            stmt.setLong(7, Long.parseLong(client.getId()));
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = mySqlConnectionManager.getConnection()) {
+            boolean updated = MySqlUpdates.update(conn, "client", UPDATE_COLUMNS, client, client.getChangedFields(),
+                    Long.parseLong(client.getId())) > 0;
+            if (updated) {
+                client.getChangedFields().clear();
+            }
+            return updated;
         } catch (SQLException e) {
             throw new DBException("Can't update client", e);
         }
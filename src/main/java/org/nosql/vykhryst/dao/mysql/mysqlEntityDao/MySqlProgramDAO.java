@@ -1,27 +1,39 @@
 package org.nosql.vykhryst.dao.mysql.mysqlEntityDao;
 
 
+import org.nosql.vykhryst.dao.MigrationResolver;
 import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.dao.mysql.MySqlBatches;
 import org.nosql.vykhryst.dao.mysql.MySqlConnectionManager;
+import org.nosql.vykhryst.dao.mysql.MySqlPages;
+import org.nosql.vykhryst.dao.mysql.MySqlStreams;
+import org.nosql.vykhryst.dao.mysql.MySqlUpdates;
 import org.nosql.vykhryst.entity.Advertising;
 import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.ChangedFields;
 import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.LineItemView;
+import org.nosql.vykhryst.entity.Money;
 import org.nosql.vykhryst.entity.Program;
 import org.nosql.vykhryst.util.DBException;
 
-import java.math.BigDecimal;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Stream;
 
 public class MySqlProgramDAO implements ProgramDAO {
 
-    private static final String INSERT_PROGRAM = "INSERT INTO program (client_id, campaign_title, description) VALUES (?, ?, ?);";
+    private static final String INSERT_PROGRAM = "INSERT INTO program (client_id, campaign_title, description) VALUES (?, ?, ?)";
     private static final String DELETE_PROGRAM_BY_ID = "DELETE FROM program WHERE id = ?";
     private static final String INSERT_PROGRAM_ADVERTISING = "INSERT INTO program_advertising (program_id, advertising_id, quantity) VALUES (?, ?, ?)";
+    private static final String UPSERT_PROGRAM_ADVERTISING = INSERT_PROGRAM_ADVERTISING + " ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+    private static final List<MySqlUpdates.Column<Program>> UPDATE_COLUMNS = List.of(
+            MySqlUpdates.column(Program.Fields.client, "client_id", (program, st, i) -> st.setLong(i, Long.parseLong(program.getClient().getId()))),
+            MySqlUpdates.column(Program.Fields.campaignTitle, "campaign_title", (program, st, i) -> st.setString(i, program.getCampaignTitle())),
+            MySqlUpdates.column(Program.Fields.description, "description", (program, st, i) -> st.setString(i, program.getDescription())));
     private static final String UPDATE_PROGRAM_QUANTITY = "UPDATE program_advertising SET quantity = ? WHERE program_id = ? AND advertising_id = ?";
+    private static final String LOCK_PROGRAM = "SELECT id FROM program WHERE id = ? FOR UPDATE";
+    private static final String SELECT_PROGRAM_QUANTITIES = "SELECT advertising_id, quantity FROM program_advertising WHERE program_id = ? FOR UPDATE";
     private static final String DELETE_PROGRAM_ADVERTISING = "DELETE FROM program_advertising WHERE program_id = ? AND advertising_id = ?";
     public static final String SELECT_ALL_PROGRAMS = "SELECT p.id, c.id, c.username,c.firstname, c.lastname, c.phone_number, c.email, c.password, p.campaign_title,p.description, p.created_at\n" +
             "FROM program p  INNER JOIN client c ON p.client_id = c.id;";
@@ -29,6 +41,25 @@ public class MySqlProgramDAO implements ProgramDAO {
             "FROM program p INNER JOIN program_advertising pa ON p.id = pa.program_id INNER JOIN advertising a ON pa.advertising_id = a.id   INNER JOIN category c on a.category_id = c.id WHERE p.id = ?;";
     public static final String SELECT_PROGRAM_BY_ID = "SELECT p.id,c.id,c.username,c.firstname,c.lastname,c.phone_number,c.email,c.password,p.campaign_title,p.description,p.created_at\n" +
             "FROM program p INNER JOIN client c ON p.client_id = c.id WHERE p.id = ?";
+    private static final String SELECT_PROGRAM_WITH_ADVERTISING = "SELECT p.id, c.id, c.username, c.firstname, c.lastname, c.phone_number, c.email, c.password, p.campaign_title, p.description, p.created_at,\n" +
+            "a.id, cat.id, cat.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at, pa.quantity\n" +
+            "FROM program p INNER JOIN client c ON p.client_id = c.id LEFT JOIN program_advertising pa ON p.id = pa.program_id\n" +
+            "LEFT JOIN advertising a ON pa.advertising_id = a.id LEFT JOIN category cat ON a.category_id = cat.id";
+    public static final String SELECT_PROGRAM_WITH_ADVERTISING_BY_ID = SELECT_PROGRAM_WITH_ADVERTISING + " WHERE p.id = ?";
+    private static final String SELECT_PROGRAM_PAGE_WITH_ADVERTISING = "SELECT p.id, c.id, c.username, c.firstname, c.lastname, c.phone_number, c.email, c.password, p.campaign_title, p.description, p.created_at,\n" +
+            "a.id, cat.id, cat.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at, pa.quantity\n" +
+            "FROM (SELECT id FROM program WHERE id > ? ORDER BY id LIMIT ?) page INNER JOIN program p ON p.id = page.id\n" +
+            "INNER JOIN client c ON p.client_id = c.id LEFT JOIN program_advertising pa ON p.id = pa.program_id\n" +
+            "LEFT JOIN advertising a ON pa.advertising_id = a.id LEFT JOIN category cat ON a.category_id = cat.id ORDER BY p.id";
+    public static final String SELECT_ALL_PROGRAMS_WITH_ADVERTISING = SELECT_PROGRAM_WITH_ADVERTISING + " ORDER BY p.id";
+    public static final String SELECT_ALL_PROGRAM_ADVERTISING = "SELECT pa.program_id, a.id, c.id, c.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at, pa.quantity\n" +
+            "FROM program_advertising pa INNER JOIN advertising a ON pa.advertising_id = a.id INNER JOIN category c ON a.category_id = c.id ORDER BY pa.program_id";
+    private static final String SELECT_ALL_LINE_ITEMS = "SELECT p.id, p.campaign_title, a.id, c.name, a.unit_price, pa.quantity\n" +
+            "FROM program p INNER JOIN program_advertising pa ON p.id = pa.program_id INNER JOIN advertising a ON pa.advertising_id = a.id\n" +
+            "INNER JOIN category c ON a.category_id = c.id";
+    private static final String SELECT_CLIENT_BY_EMAIL_AND_PASSWORD = "SELECT id, username, firstname, lastname, phone_number, email, password FROM client WHERE email = ? AND password = ?";
+    private static final String SELECT_CLIENT_ID_BY_EMAIL_AND_PASSWORD = "SELECT id FROM client WHERE email = ? AND password = ?";
+    private static final String SELECT_ADVERTISING_ID_BY_KEYS = "SELECT id FROM advertising WHERE name = ? AND measurement = ? AND unit_price = ?";
     private final MySqlConnectionManager connectionManager;
 
     public MySqlProgramDAO() {
@@ -39,14 +70,21 @@ public class MySqlProgramDAO implements ProgramDAO {
     public List<Program> findAll() {
         try (Connection conn = connectionManager.getConnection();
              Statement st = conn.createStatement()) {
-            ResultSet rs = st.executeQuery(SELECT_ALL_PROGRAMS);
-            List<Program> programs = new ArrayList<>();
-            while (rs.next()) {
-                Program program = mapProgram(rs);
-                programs.add(program);
+            Map<Long, Program.Builder> programs = new LinkedHashMap<>();
+            try (ResultSet rs = st.executeQuery(SELECT_ALL_PROGRAMS)) {
+                while (rs.next()) {
+                    programs.put(rs.getLong("id"), mapProgram(rs));
+                }
+            }
+            // one pass over every line item instead of one query per program
+            try (ResultSet rs = st.executeQuery(SELECT_ALL_PROGRAM_ADVERTISING)) {
+                stitchProgramAdvertisings(rs, programs);
             }
-            getProgramAdvertisings(conn, programs);
-            return programs;
+            List<Program> result = new ArrayList<>(programs.size());
+            for (Program.Builder program : programs.values()) {
+                result.add(program.build());
+            }
+            return result;
         } catch (SQLException e) {
             throw new DBException(e);
         }
@@ -55,21 +93,43 @@ public class MySqlProgramDAO implements ProgramDAO {
     @Override
     public Optional<Program> findById(String id) {
         try (Connection conn = connectionManager.getConnection();
-             PreparedStatement st = conn.prepareStatement(SELECT_PROGRAM_BY_ID)) {
+             PreparedStatement st = conn.prepareStatement(SELECT_PROGRAM_WITH_ADVERTISING_BY_ID)) {
             st.setLong(1, Long.parseLong(id));
             try (ResultSet rs = st.executeQuery()) {
-                if (rs.next()) {
-                    Program program = mapProgram(rs);
-                    getProgramAdvertisings(conn, List.of(program));
-                    return Optional.of(program);
-                }
+                return Optional.ofNullable(new GroupedProgramReader().next(rs));
             }
-            return Optional.empty();
         } catch (SQLException e) {
             throw new DBException(e.getMessage(), e);
         }
     }
 
+    @Override
+    public Stream<Program> streamAll() {
+        // one joined query ordered by program id, so each program's line items arrive as consecutive rows
+        return MySqlStreams.read(connectionManager, SELECT_ALL_PROGRAMS_WITH_ADVERTISING, new GroupedProgramReader());
+    }
+
+    @Override
+    public List<Program> findPage(String afterId, int limit) {
+        MySqlPages.checkLimit(limit);
+        // the page of program ids is picked first, so LIMIT counts programs rather than joined line item rows
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement st = conn.prepareStatement(SELECT_PROGRAM_PAGE_WITH_ADVERTISING)) {
+            st.setLong(1, afterId != null ? Long.parseLong(afterId) : 0);
+            st.setInt(2, limit);
+            return MySqlPages.readAll(st, new GroupedProgramReader());
+        } catch (SQLException e) {
+            throw new DBException("Can't read page of programs", e);
+        }
+    }
+
+    @Override
+    public Stream<LineItemView> streamLineItems() {
+        return MySqlStreams.stream(connectionManager, SELECT_ALL_LINE_ITEMS, rs -> new LineItemView(
+                Long.toString(rs.getLong("p.id")), rs.getString("p.campaign_title"), Long.toString(rs.getLong("a.id")),
+                rs.getString("c.name"), Money.parse(rs.getString("a.unit_price")), rs.getInt("pa.quantity")));
+    }
+
     @Override
     public String save(Program program) {
         Connection conn = null;
@@ -84,10 +144,15 @@ public class MySqlProgramDAO implements ProgramDAO {
             st.executeUpdate();
             // get generated id
             ResultSet programKeys = st.getGeneratedKeys();
+            boolean generated = programKeys.next();
+            if (generated) {
+                program.setId(String.valueOf(programKeys.getLong(1)));
+            }
+            // pooled connections outlive their statements, so close the insert before reusing the variable
+            connectionManager.close(programKeys, st);
             // insert program advertisings
             st = conn.prepareStatement(INSERT_PROGRAM_ADVERTISING);
-            if (programKeys.next()) {
-                program.setId(String.valueOf(programKeys.getLong(1)));
+            if (generated) {
                 for (Map.Entry<Advertising, Integer> entry : program.getAdvertisings().entrySet()) {
                     st.setLong(1, Long.parseLong(program.getId()));
                     st.setLong(2, Long.parseLong(entry.getKey().getId()));
@@ -106,13 +171,61 @@ public class MySqlProgramDAO implements ProgramDAO {
         }
     }
 
+    @Override
+    public List<String> saveAll(Collection<Program> programs, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<String> ids = new ArrayList<>(programs.size());
+        Connection conn = null;
+        PreparedStatement programSt = null;
+        PreparedStatement advertisingSt = null;
+        try {
+            conn = connectionManager.getConnection(false); // false - no auto commit, one transaction per chunk
+            programSt = conn.prepareStatement(INSERT_PROGRAM, Statement.RETURN_GENERATED_KEYS);
+            advertisingSt = conn.prepareStatement(INSERT_PROGRAM_ADVERTISING);
+            List<Program> chunk = new ArrayList<>(Math.min(chunkSize, programs.size()));
+            Iterator<Program> iterator = programs.iterator();
+            while (iterator.hasNext()) {
+                Program program = iterator.next();
+                programSt.setLong(1, Long.parseLong(program.getClient().getId()));
+                programSt.setString(2, program.getCampaignTitle());
+                programSt.setString(3, program.getDescription());
+                programSt.addBatch();
+                chunk.add(program);
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    programSt.executeBatch();
+                    MySqlBatches.assignKeys(programSt, chunk, Program::setId, ids);
+                    // line items need the generated program ids, so they go in a second batch
+                    for (Program saved : chunk) {
+                        for (Map.Entry<Advertising, Integer> entry : saved.getAdvertisings().entrySet()) {
+                            advertisingSt.setLong(1, Long.parseLong(saved.getId()));
+                            advertisingSt.setLong(2, Long.parseLong(entry.getKey().getId()));
+                            advertisingSt.setInt(3, entry.getValue());
+                            advertisingSt.addBatch();
+                        }
+                    }
+                    advertisingSt.executeBatch();
+                    connectionManager.commit(conn); // commit transaction
+                    chunk.clear();
+                }
+            }
+            return ids;
+        } catch (SQLException e) {
+            connectionManager.rollback(conn); // rollback transaction
+            throw new DBException("Can't insert programs", e);
+        } finally {
+            connectionManager.close(advertisingSt, programSt, conn); // close statements and connection
+        }
+    }
+
     public boolean saveAdvertisingToProgram(String programId, Map<Advertising, Integer> advertising) {
         Connection conn = null;
         PreparedStatement st = null;
         try {
             conn = connectionManager.getConnection(false); // false - no auto commit
-            // insert program advertisings
-            st = conn.prepareStatement(INSERT_PROGRAM_ADVERTISING);
+            // insert program advertisings, replacing the quantity of those already in the program
+            st = conn.prepareStatement(UPSERT_PROGRAM_ADVERTISING);
             // iterate over program advertisings
             for (Map.Entry<Advertising, Integer> entry : advertising.entrySet()) {
                 st.setLong(1, Long.parseLong(programId));
@@ -131,19 +244,97 @@ public class MySqlProgramDAO implements ProgramDAO {
         }
     }
 
+    /**
+     * Updates the program row and brings its line items in line with {@link Program#getAdvertisings()} in one transaction:
+     * the stored line items are read once, then the added, changed and removed ones go in one batch each.
+     */
     @Override
     public boolean update(Program program) {
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement st = conn.prepareStatement(UPDATE_PROGRAM_QUANTITY)) {
-            for (Map.Entry<Advertising, Integer> programAdvertising : program.getAdvertisings().entrySet()) {
-                st.setInt(1, programAdvertising.getValue());
-                st.setLong(2, Long.parseLong(program.getId()));
-                st.setLong(3, Long.parseLong(programAdvertising.getKey().getId()));
-                st.addBatch();
+        ChangedFields changed = program.getChangedFields();
+        // without tracked changes both the program row and the line items are written
+        boolean columnsChanged = changed.isEmpty() || UPDATE_COLUMNS.stream().anyMatch(column -> changed.contains(column.property()));
+        boolean lineItemsChanged = changed.isEmpty() || changed.contains(Program.Fields.advertisings);
+        long programId = Long.parseLong(program.getId());
+        Connection conn = null;
+        try {
+            conn = connectionManager.getConnection(false); // false - no auto commit
+            // both lock the program row, so concurrent updates of one program apply one after another; the lock also
+            // tells whether the program exists when only unstored fields changed, e.g. createdAt
+            boolean exists = columnsChanged
+                    ? MySqlUpdates.update(conn, "program", UPDATE_COLUMNS, program, changed, programId) > 0
+                    : lockProgram(conn, programId);
+            if (exists && lineItemsChanged) {
+                synchronizeLineItems(conn, programId, program.getAdvertisings());
+            }
+            connectionManager.commit(conn); // commit transaction
+            if (exists) {
+                changed.clear();
             }
-            return st.executeBatch().length > 0;
+            return exists;
         } catch (SQLException e) {
+            connectionManager.rollback(conn); // rollback transaction
             throw new DBException("Can't update program", e);
+        } finally {
+            connectionManager.close(conn);
+        }
+    }
+
+    private static boolean lockProgram(Connection conn, long programId) throws SQLException {
+        try (PreparedStatement st = conn.prepareStatement(LOCK_PROGRAM)) {
+            st.setLong(1, programId);
+            try (ResultSet rs = st.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void synchronizeLineItems(Connection conn, long programId, Map<Advertising, Integer> advertisings) throws SQLException {
+        Map<Long, Integer> stored = new HashMap<>();
+        try (PreparedStatement st = conn.prepareStatement(SELECT_PROGRAM_QUANTITIES)) {
+            st.setLong(1, programId);
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(rs.getLong(1), rs.getInt(2));
+                }
+            }
+        }
+        try (PreparedStatement insertSt = conn.prepareStatement(INSERT_PROGRAM_ADVERTISING);
+             PreparedStatement updateSt = conn.prepareStatement(UPDATE_PROGRAM_QUANTITY);
+             PreparedStatement deleteSt = conn.prepareStatement(DELETE_PROGRAM_ADVERTISING)) {
+            int inserts = 0;
+            int updates = 0;
+            for (Map.Entry<Advertising, Integer> entry : advertisings.entrySet()) {
+                long advertisingId = Long.parseLong(entry.getKey().getId());
+                Integer storedQuantity = stored.remove(advertisingId);
+                if (storedQuantity == null) {
+                    insertSt.setLong(1, programId);
+                    insertSt.setLong(2, advertisingId);
+                    insertSt.setInt(3, entry.getValue());
+                    insertSt.addBatch();
+                    inserts++;
+                } else if (!storedQuantity.equals(entry.getValue())) {
+                    updateSt.setInt(1, entry.getValue());
+                    updateSt.setLong(2, programId);
+                    updateSt.setLong(3, advertisingId);
+                    updateSt.addBatch();
+                    updates++;
+                }
+            }
+            // what is left in stored is no longer in the program
+            for (long advertisingId : stored.keySet()) {
+                deleteSt.setLong(1, programId);
+                deleteSt.setLong(2, advertisingId);
+                deleteSt.addBatch();
+            }
+            if (inserts > 0) {
+                insertSt.executeBatch();
+            }
+            if (updates > 0) {
+                updateSt.executeBatch();
+            }
+            if (!stored.isEmpty()) {
+                deleteSt.executeBatch();
+            }
         }
     }
 
@@ -158,6 +349,19 @@ public class MySqlProgramDAO implements ProgramDAO {
         }
     }
 
+    @Override
+    public boolean updateAdvertisingQuantity(String programId, String advertisingId, int quantity) {
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement st = conn.prepareStatement(UPDATE_PROGRAM_QUANTITY)) {
+            st.setInt(1, quantity);
+            st.setLong(2, Long.parseLong(programId));
+            st.setLong(3, Long.parseLong(advertisingId));
+            return st.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DBException("Can't update advertising quantity", e);
+        }
+    }
+
     public boolean deleteAdvertisingFromProgram(String programId, String advertisingId) {
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement st = conn.prepareStatement(DELETE_PROGRAM_ADVERTISING)) {
@@ -170,14 +374,22 @@ public class MySqlProgramDAO implements ProgramDAO {
     }
 
     @Override
-    public String migrate(Program program) {
+    public String migrate(Program program, MigrationResolver resolver) {
+        // resolve references before borrowing the connection, lookups on a miss use their own
+        String clientId = resolver.clientId(program.getClient(),
+                client -> findClientIdByEmailAndPassword(client.getEmail(), client.getPassword()));
+        Map<String, Integer> advertisingQuantities = new LinkedHashMap<>();
+        for (Map.Entry<Advertising, Integer> entry : program.getAdvertisings().entrySet()) {
+            advertisingQuantities.put(resolver.advertisingId(entry.getKey(), advertising -> findAdvertisingIdByMultipleKeys(
+                    advertising.getName(), advertising.getMeasurement(), advertising.getUnitPrice())), entry.getValue());
+        }
         Connection conn = null;
         PreparedStatement st = null;
         try {
             conn = connectionManager.getConnection(false); // false - no auto commit
             // insert program
             st = conn.prepareStatement(INSERT_PROGRAM, Statement.RETURN_GENERATED_KEYS);
-            st.setLong(1, Long.parseLong(findClientByEmailAndPassword(program.getClient().getEmail(), program.getClient().getPassword()).getId()));
+            st.setLong(1, Long.parseLong(clientId));
             st.setString(2, program.getCampaignTitle());
             st.setString(3, program.getDescription());
             st.executeUpdate();
@@ -185,10 +397,11 @@ public class MySqlProgramDAO implements ProgramDAO {
             ResultSet programKeys = st.getGeneratedKeys();
             if (programKeys.next()) {
                 program.setId(String.valueOf(programKeys.getLong(1)));
+                connectionManager.close(programKeys, st);
                 st = conn.prepareStatement(INSERT_PROGRAM_ADVERTISING);
-                for (Map.Entry<Advertising, Integer> entry : program.getAdvertisings().entrySet()) {
+                for (Map.Entry<String, Integer> entry : advertisingQuantities.entrySet()) {
                     st.setLong(1, Long.parseLong(program.getId()));
-                    st.setLong(2, Long.parseLong(findAdvertisingByMultipleKeys(entry.getKey().getName(), entry.getKey().getMeasurement(), entry.getKey().getUnitPrice()).getId()));
+                    st.setLong(2, Long.parseLong(entry.getKey()));
                     st.setInt(3, entry.getValue());
                     st.addBatch();
                 }
@@ -204,28 +417,37 @@ public class MySqlProgramDAO implements ProgramDAO {
         }
     }
 
-    private Advertising findAdvertisingByMultipleKeys(String name, String measurement, BigDecimal unitPrice) {
+    // Migration lookups need only the destination id
+    private String findAdvertisingIdByMultipleKeys(String name, String measurement, Money unitPrice) {
         try (Connection conn = connectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT a.id, c.id, c.name, a.name, a.measurement, a.unit_price, a.description, a.updated_at  FROM advertising a LEFT JOIN category c ON a.category_id = c.id " +
-                     "WHERE a.name = ? AND a.measurement = ? AND a.unit_price = ?")) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ADVERTISING_ID_BY_KEYS)) {
             stmt.setString(1, name);
             stmt.setString(2, measurement);
-            stmt.setBigDecimal(3, unitPrice);
-            Advertising result = null;
+            stmt.setBigDecimal(3, unitPrice.toBigDecimal());
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    result = mapProgramAdvertising(rs);
-                }
+                return rs.next() ? Long.toString(rs.getLong("id")) : null;
             }
-            return result;
         } catch (SQLException e) {
             throw new DBException("Can't get advertising by name, measurement and unit price", e);
         }
     }
 
+    private String findClientIdByEmailAndPassword(String email, String password) {
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CLIENT_ID_BY_EMAIL_AND_PASSWORD)) {
+            stmt.setString(1, email);
+            stmt.setString(2, password);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Long.toString(rs.getLong("id")) : null;
+            }
+        } catch (SQLException e) {
+            throw new DBException("Can't get client by email and password", e);
+        }
+    }
+
     public Client findClientByEmailAndPassword(String email, String password) {
         try (Connection conn = connectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM client WHERE email = ? AND password = ?")) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CLIENT_BY_EMAIL_AND_PASSWORD)) {
             stmt.setString(1, email);
             stmt.setString(2, password);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -249,7 +471,8 @@ public class MySqlProgramDAO implements ProgramDAO {
 
 
     // Utility methods
-    private static Program mapProgram(ResultSet rs) throws SQLException {
+    // Loaded programs are assembled by the builder, so they come back with no changed fields
+    private static Program.Builder mapProgram(ResultSet rs) throws SQLException {
         return new Program.Builder()
                 .id(String.valueOf(rs.getInt("id")))
                 .client(new Client.Builder().id(String.valueOf(rs.getInt("c.id")))
@@ -262,31 +485,66 @@ public class MySqlProgramDAO implements ProgramDAO {
                         .build())
                 .campaignTitle(rs.getString("campaign_title"))
                 .description(rs.getString("description"))
-                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                .build();
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime());
     }
 
 
-    private static void getProgramAdvertisings(Connection conn, List<Program> programs) throws SQLException {
-        try (PreparedStatement st = conn.prepareStatement(SELECT_PROGRAM_ADVERTISING)) {
-            for (Program program : programs) {
-                st.setLong(1, Long.parseLong(program.getId()));
-                ResultSet rs2 = st.executeQuery();
-                while (rs2.next()) {
-                    Advertising programAdvertising = mapProgramAdvertising(rs2);
-                    program.addAdvertising(programAdvertising, rs2.getInt("pa.quantity"));
+    /**
+     * Folds consecutive rows of {@link #SELECT_PROGRAM_WITH_ADVERTISING} that share a program id into one program.
+     */
+    private static final class GroupedProgramReader implements MySqlStreams.CursorReader<Program> {
+        private boolean started;
+        private boolean hasRow;
+
+        @Override
+        public Program next(ResultSet rs) throws SQLException {
+            if (!started) {
+                started = true;
+                hasRow = rs.next();
+            }
+            if (!hasRow) {
+                return null;
+            }
+            Program.Builder program = mapProgram(rs);
+            long programId = rs.getLong("p.id");
+            do {
+                // LEFT JOIN yields a single null row for a program without advertising
+                if (rs.getObject("a.id") != null) {
+                    program.addAdvertising(mapProgramAdvertising(rs, "cat"), rs.getInt("pa.quantity"));
                 }
+                hasRow = rs.next();
+            } while (hasRow && rs.getLong("p.id") == programId);
+            return program.build();
+        }
+    }
+
+    private static void stitchProgramAdvertisings(ResultSet rs, Map<Long, Program.Builder> programs) throws SQLException {
+        // rows are ordered by program id, so the lookup only changes once per program
+        long currentId = -1;
+        Program.Builder current = null;
+        while (rs.next()) {
+            long programId = rs.getLong("pa.program_id");
+            if (programId != currentId) {
+                currentId = programId;
+                current = programs.get(programId);
+            }
+            if (current != null) {
+                current.addAdvertising(mapProgramAdvertising(rs), rs.getInt("pa.quantity"));
             }
         }
     }
 
     private static Advertising mapProgramAdvertising(ResultSet resultSet) throws SQLException {
+        return mapProgramAdvertising(resultSet, "c");
+    }
+
+    private static Advertising mapProgramAdvertising(ResultSet resultSet, String categoryAlias) throws SQLException {
         return new Advertising.Builder()
                 .id(Long.toString(resultSet.getInt("a.id")))
-                .category(new Category(Long.toString(resultSet.getInt("c.id")), resultSet.getString("c.name")))
+                .category(new Category(Long.toString(resultSet.getInt(categoryAlias + ".id")), resultSet.getString(categoryAlias + ".name")))
                 .name(resultSet.getString("a.name"))
                 .measurement(resultSet.getString("a.measurement"))
-                .unitPrice(resultSet.getBigDecimal("a.unit_price"))
+                .unitPrice(Money.parse(resultSet.getString("a.unit_price")))
                 .description(resultSet.getString("a.description"))
                 .updatedAt(resultSet.getTimestamp("a.updated_at").toLocalDateTime())
                 .build();
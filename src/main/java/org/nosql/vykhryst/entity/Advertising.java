@@ -2,12 +2,16 @@ package org.nosql.vykhryst.entity;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldNameConstants;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@FieldNameConstants
 @AllArgsConstructor
 @NoArgsConstructor
 public class Advertising {
@@ -16,12 +20,17 @@ public class Advertising {
     private Category category;
     private String name;
     private String measurement;
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
     private String description;
 
     private LocalDateTime updatedAt;
 
+    @FieldNameConstants.Exclude
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ChangedFields changedFields = new ChangedFields();
+
     public Advertising(Builder advertisingBuilder) {
         this.id = advertisingBuilder.id;
         this.category = advertisingBuilder.category;
@@ -32,13 +41,42 @@ public class Advertising {
         this.updatedAt = advertisingBuilder.updatedAt;
     }
 
+    public void setCategory(Category category) {
+        this.category = category;
+        changedFields.add(Fields.category);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        changedFields.add(Fields.name);
+    }
+
+    public void setMeasurement(String measurement) {
+        this.measurement = measurement;
+        changedFields.add(Fields.measurement);
+    }
+
+    public void setUnitPrice(Money unitPrice) {
+        this.unitPrice = unitPrice;
+        changedFields.add(Fields.unitPrice);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        changedFields.add(Fields.description);
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+        changedFields.add(Fields.updatedAt);
+    }
 
     public static class Builder {
         private String id;
         private Category category;
         private String name;
         private String measurement;
-        private BigDecimal unitPrice;
+        private Money unitPrice;
         private String description;
         private LocalDateTime updatedAt;
 
@@ -63,11 +101,16 @@ public class Advertising {
             return this;
         }
 
-        public Builder unitPrice(BigDecimal unitPrice) {
+        public Builder unitPrice(Money unitPrice) {
             this.unitPrice = unitPrice;
             return this;
         }
 
+        public Builder unitPrice(BigDecimal unitPrice) {
+            this.unitPrice = unitPrice == null ? null : Money.of(unitPrice);
+            return this;
+        }
+
         public Builder description(String description) {
             this.description = description;
             return this;
@@ -0,0 +1,8 @@
+package org.nosql.vykhryst.entity;
+
+/**
+ * The fields of an advertising that the reports and migration lookups need, read with a projection instead of
+ * building a full {@link Advertising} with its description, measurement and timestamps.
+ */
+public record AdvertisingView(String id, String name, String categoryName, Money unitPrice) {
+}
@@ -2,9 +2,13 @@ package org.nosql.vykhryst.entity;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldNameConstants;
 
 @Data
+@FieldNameConstants
 @AllArgsConstructor
 @NoArgsConstructor
 public class Category {
@@ -13,8 +17,18 @@ public class Category {
 
     private String name;
 
+    @FieldNameConstants.Exclude
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ChangedFields changedFields = new ChangedFields();
+
     public Category(String id) {
         this.id = id;
     }
 
+    public void setName(String name) {
+        this.name = name;
+        changedFields.add(Fields.name);
+    }
+
 }
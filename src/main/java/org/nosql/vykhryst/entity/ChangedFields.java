@@ -0,0 +1,38 @@
+package org.nosql.vykhryst.entity;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Names of the properties an entity's setters changed since it was built or last written, from the entity's
+ * {@code Fields} constants. DAOs write only those; an empty set means nothing is known about the entity
+ * (e.g. it was assembled by a builder), so update writes all of it.
+ */
+public final class ChangedFields {
+
+    private final Set<String> names = new LinkedHashSet<>();
+
+    void add(String name) {
+        names.add(name);
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Called by the DAOs once the changes are stored.
+     */
+    public void clear() {
+        names.clear();
+    }
+}
@@ -2,9 +2,13 @@ package org.nosql.vykhryst.entity;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldNameConstants;
 
 @Data
+@FieldNameConstants
 @NoArgsConstructor
 @AllArgsConstructor
 public class Client {
@@ -16,6 +20,11 @@ public class Client {
     private String email;
     private String password;
 
+    @FieldNameConstants.Exclude
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ChangedFields changedFields = new ChangedFields();
+
     public Client(Builder builder) {
         this.id = builder.id;
         this.username = builder.username;
@@ -26,6 +35,35 @@ public class Client {
         this.password = builder.password;
     }
 
+    public void setUsername(String username) {
+        this.username = username;
+        changedFields.add(Fields.username);
+    }
+
+    public void setFirstname(String firstname) {
+        this.firstname = firstname;
+        changedFields.add(Fields.firstname);
+    }
+
+    public void setLastname(String lastname) {
+        this.lastname = lastname;
+        changedFields.add(Fields.lastname);
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+        changedFields.add(Fields.phoneNumber);
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        changedFields.add(Fields.email);
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+        changedFields.add(Fields.password);
+    }
 
     public static class Builder{
         private String id;
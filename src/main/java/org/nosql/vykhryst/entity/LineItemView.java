@@ -0,0 +1,8 @@
+package org.nosql.vykhryst.entity;
+
+/**
+ * One advertising of a program with just what the cost and popularity reports read: no client, no description.
+ */
+public record LineItemView(String programId, String campaignTitle, String advertisingId, String categoryName,
+                           Money unitPrice, int quantity) {
+}
@@ -0,0 +1,121 @@
+package org.nosql.vykhryst.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount of money as a count of minor units (hundredths), the same fixed scale as the {@code DECIMAL(7,2)} price column.
+ * Sums and products are plain {@code long} arithmetic, so cost reports can accumulate into primitives and convert
+ * to {@link BigDecimal} only for the result. Conversions from decimals are exact: a value with more than
+ * {@link #SCALE} significant fraction digits, or one that doesn't fit a {@code long}, throws {@link ArithmeticException}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_UNITS_PER_UNIT = 100;
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money ofUnits(long units) {
+        return ofMinorUnits(Math.multiplyExact(units, MINOR_UNITS_PER_UNIT));
+    }
+
+    public static Money of(BigDecimal value) {
+        return ofMinorUnits(value.setScale(SCALE).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parses a plain decimal such as {@code "-12.5"} or {@code "100.00"}, the form JDBC returns for {@code DECIMAL} columns.
+     */
+    public static Money parse(String value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        long minorUnits = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (ch >= '0' && ch <= '9') {
+                digits = true;
+                if (fractionDigits >= SCALE) {
+                    if (ch != '0') {
+                        throw new ArithmeticException("More than " + SCALE + " decimal places in " + value);
+                    }
+                    continue;
+                }
+                minorUnits = Math.addExact(Math.multiplyExact(minorUnits, 10), ch - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else {
+                throw new NumberFormatException("Not a decimal: " + value);
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Not a decimal: " + value);
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < SCALE; scale++) {
+            minorUnits = Math.multiplyExact(minorUnits, 10);
+        }
+        return ofMinorUnits(negative ? -minorUnits : minorUnits);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return ofMinorUnits(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public double toDouble() {
+        return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Money money && minorUnits == money.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
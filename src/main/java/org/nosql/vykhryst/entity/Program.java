@@ -1,12 +1,16 @@
 package org.nosql.vykhryst.entity;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.FieldNameConstants;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @Data
+@FieldNameConstants
 public class Program {
     private String id;
     private Client client;
@@ -15,6 +19,11 @@ public class Program {
     private LocalDateTime createdAt;
     private Map<Advertising, Integer> advertisings;
 
+    @FieldNameConstants.Exclude
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ChangedFields changedFields = new ChangedFields();
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -47,12 +56,39 @@ public class Program {
         this.advertisings = builder.advertising;
     }
 
+    public void setClient(Client client) {
+        this.client = client;
+        changedFields.add(Fields.client);
+    }
+
+    public void setCampaignTitle(String campaignTitle) {
+        this.campaignTitle = campaignTitle;
+        changedFields.add(Fields.campaignTitle);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        changedFields.add(Fields.description);
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+        changedFields.add(Fields.createdAt);
+    }
+
+    public void setAdvertisings(Map<Advertising, Integer> advertisings) {
+        this.advertisings = advertisings;
+        changedFields.add(Fields.advertisings);
+    }
+
     public void addAdvertising(Advertising advertising, Integer quantity) {
         this.advertisings.put(advertising, quantity);
+        changedFields.add(Fields.advertisings);
     }
 
     public void deleteAdvertising(Advertising advertising) {
         this.advertisings.remove(advertising);
+        changedFields.add(Fields.advertisings);
     }
 
     public static class Builder {
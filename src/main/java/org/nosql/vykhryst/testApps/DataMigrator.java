@@ -1,45 +1,206 @@
 package org.nosql.vykhryst.testApps;
 
 import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.MigrationResolver;
 import org.nosql.vykhryst.dao.TypeDAO;
 import org.nosql.vykhryst.dao.entityDao.*;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Program;
+import org.nosql.vykhryst.util.DBException;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DataMigrator {
+    private static final String CATEGORY = "category";
+    private static final String CLIENT = "client";
+    private static final String ADVERTISING = "advertising";
+    private static final String PROGRAM = "program";
+
     private final DaoFactory daoFactory;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int writerThreads;
 
     public DataMigrator() {
+        this(Integer.parseInt(PropertiesManager.getProperty("migration.batchSize", "500")),
+                Integer.parseInt(PropertiesManager.getProperty("migration.queueCapacity", "8")),
+                Integer.parseInt(PropertiesManager.getProperty("migration.writerThreads", "3")));
+    }
+
+    public DataMigrator(int batchSize, int queueCapacity, int writerThreads) {
         this.daoFactory = DaoFactory.getInstance();
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.writerThreads = writerThreads;
     }
 
     public void migrateData(TypeDAO sourceType, TypeDAO destinationType) {
-        migrateCategoryDAO(sourceType, destinationType);
-        migrateAdvertisingDAO(sourceType, destinationType);
-        migrateClientDAO(sourceType, destinationType);
-        migrateProgramDAO(sourceType, destinationType);
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.inMemory()) {
+            migrateData(sourceType, destinationType, checkpoint);
+        }
     }
 
-    private void migrateCategoryDAO(TypeDAO sourceType, TypeDAO destinationType) {
+    /**
+     * Resumable migration: source id -> destination id mappings are appended to {@code checkpointFile} after every
+     * written batch, so running again with the same file skips completed stages and already migrated rows.
+     */
+    public void migrateData(TypeDAO sourceType, TypeDAO destinationType, Path checkpointFile) {
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(checkpointFile)) {
+            migrateData(sourceType, destinationType, checkpoint);
+        }
+    }
+
+    /**
+     * Categories and clients are independent and migrate concurrently; advertising waits only for
+     * categories and programs wait for both advertising and clients.
+     * Every written entity is registered in one {@link MigrationResolver} by its source id, so later stages
+     * resolve references without lookup queries, including references to rows written by an earlier run.
+     */
+    private void migrateData(TypeDAO sourceType, TypeDAO destinationType, MigrationCheckpoint checkpoint) {
+        MigrationResolver resolver = new MigrationResolver();
+        checkpoint.mappings(CATEGORY).forEach(resolver::registerCategoryId);
+        checkpoint.mappings(CLIENT).forEach(resolver::registerClientId);
+        checkpoint.mappings(ADVERTISING).forEach(resolver::registerAdvertisingId);
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            CompletableFuture<Void> categories = CompletableFuture.runAsync(() -> migrateCategoryDAO(sourceType, destinationType, resolver, checkpoint), executor);
+            CompletableFuture<Void> clients = CompletableFuture.runAsync(() -> migrateClientDAO(sourceType, destinationType, resolver, checkpoint), executor);
+            CompletableFuture<Void> advertisings = categories.thenRunAsync(() -> migrateAdvertisingDAO(sourceType, destinationType, resolver, checkpoint), executor);
+            CompletableFuture.allOf(advertisings, clients)
+                    .thenRunAsync(() -> migrateProgramDAO(sourceType, destinationType, resolver, checkpoint), executor)
+                    .join();
+            System.out.println("Reference lookups: " + resolver.getHits() + " resolved from memory, "
+                    + resolver.getMisses() + " queried");
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof DBException dbException ? dbException : new DBException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void migrateCategoryDAO(TypeDAO sourceType, TypeDAO destinationType, MigrationResolver resolver, MigrationCheckpoint checkpoint) {
         CategoryDAO sourceDAO = daoFactory.getCategoryDAO(sourceType);
         CategoryDAO destinationDAO = daoFactory.getCategoryDAO(destinationType);
-        sourceDAO.findAll().forEach(destinationDAO::save);
+        runStage(CATEGORY, sourceDAO::findPage, Category::getId, batch -> {
+            List<String> ids = destinationDAO.saveAll(batch);
+            batch.forEach(resolver::registerCategory);
+            return ids;
+        }, resolver::registerCategoryId, checkpoint);
     }
 
-    private void migrateAdvertisingDAO(TypeDAO sourceType, TypeDAO destinationType) {
+    private void migrateAdvertisingDAO(TypeDAO sourceType, TypeDAO destinationType, MigrationResolver resolver, MigrationCheckpoint checkpoint) {
         AdvertisingDAO sourceDAO = daoFactory.getAdvertisingDAO(sourceType);
         AdvertisingDAO destinationDAO = daoFactory.getAdvertisingDAO(destinationType);
-        sourceDAO.findAll().forEach(destinationDAO::migrate);
+        runStage(ADVERTISING, sourceDAO::findPage, Advertising::getId,
+                batch -> batch.stream().map(advertising -> destinationDAO.migrate(advertising, resolver)).toList(),
+                resolver::registerAdvertisingId, checkpoint);
     }
 
-    private void migrateClientDAO(TypeDAO sourceType, TypeDAO destinationType) {
+    private void migrateClientDAO(TypeDAO sourceType, TypeDAO destinationType, MigrationResolver resolver, MigrationCheckpoint checkpoint) {
         ClientDAO sourceDAO = daoFactory.getClientDAO(sourceType);
         ClientDAO destinationDAO = daoFactory.getClientDAO(destinationType);
-        sourceDAO.findAll().forEach(destinationDAO::save);
+        runStage(CLIENT, sourceDAO::findPage, Client::getId, batch -> {
+            List<String> ids = destinationDAO.saveAll(batch);
+            batch.forEach(resolver::registerClient);
+            return ids;
+        }, resolver::registerClientId, checkpoint);
     }
 
-    private void migrateProgramDAO(TypeDAO sourceType, TypeDAO destinationType) {
+    private void migrateProgramDAO(TypeDAO sourceType, TypeDAO destinationType, MigrationResolver resolver, MigrationCheckpoint checkpoint) {
         ProgramDAO sourceDAO = daoFactory.getProgramDAO(sourceType);
         ProgramDAO destinationDAO = daoFactory.getProgramDAO(destinationType);
-        sourceDAO.findAll().forEach(destinationDAO::migrate);
+        runStage(PROGRAM, sourceDAO::findPage, Program::getId,
+                batch -> batch.stream().map(program -> destinationDAO.migrate(program, resolver)).toList(),
+                (sourceId, destinationId) -> {
+                }, checkpoint);
+    }
+
+    /**
+     * Runs one stage unless the checkpoint marks it completed. The source is read in keyset pages from the stage's
+     * watermark, so an interrupted stage resumes where its written prefix ends instead of rereading the whole table.
+     * Rows past the watermark that were written before the interruption (writers finish out of order) are filtered
+     * out by their recorded source ids; source ids are captured before {@code write}, because the DAOs overwrite
+     * entity ids with the destination ones.
+     */
+    private <T> void runStage(String entity, BiFunction<String, Integer, List<T>> findPage, Function<T, String> sourceIdOf,
+                              Function<List<T>, List<String>> write, BiConsumer<String, String> register,
+                              MigrationCheckpoint checkpoint) {
+        if (checkpoint.isCompleted(entity)) {
+            System.out.println("Stage " + entity + ": already completed, skipped");
+            return;
+        }
+        Map<String, String> migrated = checkpoint.mappings(entity);
+        String watermark = checkpoint.watermark(entity);
+        if (watermark != null) {
+            System.out.println("Stage " + entity + ": resuming after source id " + watermark);
+        }
+        new MigrationStage<T>(entity, () -> readPages(findPage, sourceIdOf, watermark), sourceIdOf, batch -> {
+            List<T> pending = batch.stream().filter(e -> !migrated.containsKey(sourceIdOf.apply(e))).toList();
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<String> sourceIds = pending.stream().map(sourceIdOf).toList();
+            List<String> destinationIds = write.apply(pending);
+            for (int i = 0; i < sourceIds.size(); i++) {
+                register.accept(sourceIds.get(i), destinationIds.get(i));
+            }
+            checkpoint.record(entity, sourceIds, destinationIds);
+        }, sourceId -> checkpoint.advance(entity, sourceId), batchSize, queueCapacity, writerThreads).run();
+        checkpoint.complete(entity);
+    }
+
+    // Source rows after afterId in id order, one findPage call per batch; a short page is the last one
+    private <T> Stream<T> readPages(BiFunction<String, Integer, List<T>> findPage, Function<T, String> idOf, String afterId) {
+        Iterator<List<T>> pages = new Iterator<>() {
+            private String lastId = afterId;
+            private List<T> page;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (page == null && !exhausted) {
+                    page = findPage.apply(lastId, batchSize);
+                    exhausted = page.size() < batchSize;
+                    if (page.isEmpty()) {
+                        page = null;
+                    } else {
+                        lastId = idOf.apply(page.get(page.size() - 1));
+                    }
+                }
+                return page != null;
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> next = page;
+                page = null;
+                return next;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream);
     }
 
     public static void main(String[] args) {
@@ -47,6 +208,7 @@ public class DataMigrator {
 //        dataMigrator.migrateData(TypeDAO.MYSQL, TypeDAO.MONGODB);
 
         // For migration in the opposite direction, use:
-        dataMigrator.migrateData(TypeDAO.MONGODB, TypeDAO.MYSQL);
+        dataMigrator.migrateData(TypeDAO.MONGODB, TypeDAO.MYSQL,
+                Path.of(PropertiesManager.getProperty("migration.checkpointFile", "migration.checkpoint")));
     }
 }
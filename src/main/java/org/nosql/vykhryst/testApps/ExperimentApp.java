@@ -8,7 +8,9 @@ import org.nosql.vykhryst.entity.Client;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ExperimentApp {
     public static void main(String[] args) {
@@ -22,11 +24,13 @@ public class ExperimentApp {
         // Test MongoDB
         System.out.println("\n--- Test MongoDB ---");
         testSave(mongoClientDAO, count);
+        testSaveAll(mongoClientDAO, count);
         testFindAll(mongoClientDAO);
 
         // Test MySQL
         System.out.println("\n--- Test MySQL ---");
         testSave(mySqlClientDAO, count);
+        testSaveAll(mySqlClientDAO, count);
         testFindAll(mySqlClientDAO);
     }
 
@@ -49,12 +53,35 @@ public class ExperimentApp {
                 + Duration.between(start, end).toMillis() + " ms");
     }
 
+    private static void testSaveAll(ClientDAO clientDAO, int count) {
+        // Insert data in batches
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            clients.add(new Client.Builder()
+                    .username("username" + i)
+                    .firstname("firstname" + i)
+                    .lastname("lastname" + i)
+                    .phoneNumber("tel" + i)
+                    .email("email" + i)
+                    .password("password" + i)
+                    .build());
+        }
+        Instant start = Instant.now();
+        clientDAO.saveAll(clients);
+        Instant end = Instant.now();
+        System.out.println("Batch insertion time for " + count + " records: "
+                + Duration.between(start, end).toMillis() + " ms");
+    }
+
     private static void testFindAll(ClientDAO clientDAO) {
         // Find all data
         Instant start = Instant.now();
-        List<Client> clients = clientDAO.findAll();
+        long count;
+        try (Stream<Client> clients = clientDAO.streamAll()) {
+            count = clients.count();
+        }
         Instant end = Instant.now();
-        System.out.println("Reading time for " + clients.size() + " records: "
+        System.out.println("Reading time for " + count + " records: "
                 + Duration.between(start, end).toMillis() + " ms");
     }
 
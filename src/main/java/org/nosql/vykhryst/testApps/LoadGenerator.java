@@ -0,0 +1,175 @@
+package org.nosql.vykhryst.testApps;
+
+import org.HdrHistogram.Histogram;
+import org.nosql.vykhryst.util.DBException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a read/write workload with concurrent workers and records per-operation latency in HDR histograms.
+ * <ul>
+ *     <li>closed loop ({@code targetOpsPerSecond == 0}): every worker issues its next operation as soon as the previous one returns;</li>
+ *     <li>open loop: operations are scheduled at a fixed rate split across the workers, and latency is measured
+ *     from the scheduled start, so a stalled backend shows up in the percentiles instead of silently lowering the rate.</li>
+ * </ul>
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final int workers;
+    private final Duration warmup;
+    private final Duration duration;
+    private final double targetOpsPerSecond;
+    private final double readRatio;
+    private final Runnable read;
+    private final Runnable write;
+
+    public LoadGenerator(String name, int workers, Duration warmup, Duration duration, double targetOpsPerSecond,
+                         double readRatio, Runnable read, Runnable write) {
+        if (workers <= 0 || readRatio < 0 || readRatio > 1 || targetOpsPerSecond < 0) {
+            throw new DBException("Invalid load test settings: workers=" + workers + ", readRatio=" + readRatio
+                    + ", targetOpsPerSecond=" + targetOpsPerSecond);
+        }
+        this.name = name;
+        this.workers = workers;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.targetOpsPerSecond = targetOpsPerSecond;
+        this.readRatio = readRatio;
+        this.read = read;
+        this.write = write;
+    }
+
+    public Result run() {
+        if (!warmup.isZero()) {
+            runPhase(warmup);
+        }
+        return runPhase(duration);
+    }
+
+    private Result runPhase(Duration phase) {
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "load-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long end = start + phase.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            long offset = i;
+            futures.add(pool.submit(() -> work(start, end, offset)));
+        }
+        Result total = new Result(name, newHistogram(), newHistogram(), 0, 0);
+        try {
+            for (Future<Result> future : futures) {
+                total.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBException("Load test " + name + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DBException("Load test " + name + " failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        total.elapsedNanos = System.nanoTime() - start;
+        return total;
+    }
+
+    private Result work(long start, long end, long offset) {
+        Result result = new Result(name, newHistogram(), newHistogram(), 0, 0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intervalNanos = targetOpsPerSecond == 0 ? 0 : (long) (1e9 * workers / targetOpsPerSecond);
+        // stagger the workers so their scheduled starts don't coincide
+        long next = start + (intervalNanos == 0 ? 0 : intervalNanos * offset / workers);
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            long begin = intervalNanos > 0 ? next : System.nanoTime();
+            if (begin >= end || Thread.currentThread().isInterrupted()) {
+                return result;
+            }
+            boolean isRead = random.nextDouble() < readRatio;
+            try {
+                (isRead ? read : write).run();
+            } catch (RuntimeException e) {
+                result.errors++;
+            }
+            (isRead ? result.reads : result.writes).recordValue(Math.min(System.nanoTime() - begin, HIGHEST_TRACKABLE_NANOS));
+            next += intervalNanos;
+        }
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    }
+
+    public static class Result {
+        private final String name;
+        private final Histogram reads;
+        private final Histogram writes;
+        private long errors;
+        private long elapsedNanos;
+
+        private Result(String name, Histogram reads, Histogram writes, long errors, long elapsedNanos) {
+            this.name = name;
+            this.reads = reads;
+            this.writes = writes;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private void add(Result other) {
+            reads.add(other.reads);
+            writes.add(other.writes);
+            errors += other.errors;
+        }
+
+        public long getOperations() {
+            return reads.getTotalCount() + writes.getTotalCount();
+        }
+
+        public double getThroughput() {
+            return getOperations() * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public String report() {
+            Histogram all = reads.copy();
+            all.add(writes);
+            return String.format("%s: %d ops in %d ms, %.0f ops/s, %d errors%n%s%n%s%n%s", name, getOperations(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getThroughput(), errors,
+                    percentiles("all", all), percentiles("read", reads), percentiles("write", writes));
+        }
+
+        private static String percentiles(String label, Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return String.format("  %-5s -", label);
+            }
+            return String.format("  %-5s p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f ms", label,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
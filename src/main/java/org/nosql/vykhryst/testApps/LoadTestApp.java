@@ -0,0 +1,87 @@
+package org.nosql.vykhryst.testApps;
+
+import org.nosql.vykhryst.dao.AbstractDaoFactory;
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.entityDao.ClientDAO;
+import org.nosql.vykhryst.dao.entityDao.ProgramDAO;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Program;
+import org.nosql.vykhryst.util.PropertiesManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link LoadGenerator} against the client and program DAOs of both backends.
+ * Reads are {@code findById} on ids sampled from the existing data; client writes insert new clients,
+ * program writes {@code update} a sampled program with its current contents.
+ */
+public class LoadTestApp {
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    private final int workers = Integer.parseInt(PropertiesManager.getProperty("loadtest.workers", "32"));
+    private final Duration warmup = Duration.ofSeconds(Long.parseLong(PropertiesManager.getProperty("loadtest.warmupSeconds", "10")));
+    private final Duration duration = Duration.ofSeconds(Long.parseLong(PropertiesManager.getProperty("loadtest.durationSeconds", "30")));
+    private final double targetOpsPerSecond = Double.parseDouble(PropertiesManager.getProperty("loadtest.targetOpsPerSecond", "0"));
+    private final double readRatio = Double.parseDouble(PropertiesManager.getProperty("loadtest.readRatio", "0.9"));
+
+    public static void main(String[] args) {
+        AbstractDaoFactory daoFactory = DaoFactory.getInstance();
+        LoadTestApp app = new LoadTestApp();
+        for (TypeDAO type : TypeDAO.values()) {
+            System.out.println("\n--- Load test " + type + " ---");
+            app.testClients(type, daoFactory.getClientDAO(type));
+            app.testPrograms(type, daoFactory.getProgramDAO(type));
+        }
+    }
+
+    private void testClients(TypeDAO type, ClientDAO clientDAO) {
+        List<String> ids = sampleIds(clientDAO.streamAll().map(Client::getId));
+        if (ids.isEmpty()) {
+            System.out.println("No clients in " + type + ", skipped");
+            return;
+        }
+        AtomicLong sequence = new AtomicLong();
+        run(type + " client", () -> clientDAO.findById(randomId(ids)), () -> {
+            long i = sequence.incrementAndGet();
+            clientDAO.save(new Client.Builder()
+                    .username("load" + i)
+                    .firstname("firstname" + i)
+                    .lastname("lastname" + i)
+                    .phoneNumber("tel" + i)
+                    .email("load" + i + "@example.com")
+                    .password("password" + i)
+                    .build());
+        });
+    }
+
+    private void testPrograms(TypeDAO type, ProgramDAO programDAO) {
+        List<String> ids = sampleIds(programDAO.streamAll().map(Program::getId));
+        if (ids.isEmpty()) {
+            System.out.println("No programs in " + type + ", skipped");
+            return;
+        }
+        run(type + " program", () -> programDAO.findById(randomId(ids)),
+                () -> programDAO.findById(randomId(ids)).ifPresent(programDAO::update));
+    }
+
+    private void run(String name, Runnable read, Runnable write) {
+        LoadGenerator.Result result = new LoadGenerator(name, workers, warmup, duration, targetOpsPerSecond, readRatio, read, write).run();
+        System.out.println(result.report());
+    }
+
+    private static List<String> sampleIds(Stream<String> ids) {
+        try (ids) {
+            return ids.limit(SAMPLE_SIZE).toList();
+        }
+    }
+
+    private static String randomId(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
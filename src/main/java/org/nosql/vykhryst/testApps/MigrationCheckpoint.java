@@ -0,0 +1,178 @@
+package org.nosql.vykhryst.testApps;
+
+import org.nosql.vykhryst.util.DBException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only log of migration progress: one {@code M} line per migrated row (entity, source id, destination id),
+ * a {@code W} line whenever the source id up to which every row of a stage is written advances, and one {@code C}
+ * line per completed entity type. Replaying it on restart tells {@link DataMigrator} which stages to skip entirely,
+ * where to resume reading an interrupted one and which rows after that point are already in the destination.
+ * A kill can leave a torn last line; {@link #open} cuts the file back to its last newline before replaying or
+ * appending, so only complete lines are replayed and new records start on a line of their own.
+ */
+public class MigrationCheckpoint implements Closeable {
+
+    private static final String MAPPING = "M";
+    private static final String WATERMARK = "W";
+    private static final String COMPLETED = "C";
+
+    private final Map<String, Map<String, String>> mappings = new ConcurrentHashMap<>();
+    private final Map<String, String> watermarks = new ConcurrentHashMap<>();
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+    private final BufferedWriter writer;
+
+    private MigrationCheckpoint(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Checkpoint that lives only for this run, for migrations that don't need to resume.
+     */
+    public static MigrationCheckpoint inMemory() {
+        return new MigrationCheckpoint(null);
+    }
+
+    public static MigrationCheckpoint open(Path file) {
+        try {
+            truncateTornLine(file);
+            MigrationCheckpoint checkpoint = new MigrationCheckpoint(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            checkpoint.replay(file);
+            return checkpoint;
+        } catch (IOException e) {
+            throw new DBException("Can't open migration checkpoint " + file, e);
+        }
+    }
+
+    public boolean isCompleted(String entity) {
+        return completed.contains(entity);
+    }
+
+    /**
+     * Source id up to which every row of {@code entity} is in the destination, or {@code null} if none is yet.
+     */
+    public String watermark(String entity) {
+        return watermarks.get(entity);
+    }
+
+    public Map<String, String> mappings(String entity) {
+        return Collections.unmodifiableMap(entityMappings(entity));
+    }
+
+    /**
+     * Records rows the destination has already committed; call only after the write succeeded.
+     */
+    public synchronized void record(String entity, List<String> sourceIds, List<String> destinationIds) {
+        Map<String, String> entityMappings = entityMappings(entity);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < sourceIds.size(); i++) {
+            entityMappings.put(sourceIds.get(i), destinationIds.get(i));
+            lines.append(MAPPING).append('\t').append(entity).append('\t')
+                    .append(sourceIds.get(i)).append('\t').append(destinationIds.get(i)).append('\n');
+        }
+        append(lines.toString());
+    }
+
+    /**
+     * Records that every source row of {@code entity} up to {@code sourceId} is written; call in source id order.
+     */
+    public synchronized void advance(String entity, String sourceId) {
+        watermarks.put(entity, sourceId);
+        append(WATERMARK + '\t' + entity + '\t' + sourceId + '\n');
+    }
+
+    public synchronized void complete(String entity) {
+        completed.add(entity);
+        append(COMPLETED + '\t' + entity + '\n');
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new DBException("Can't close migration checkpoint", e);
+            }
+        }
+    }
+
+    private Map<String, String> entityMappings(String entity) {
+        return mappings.computeIfAbsent(entity, k -> new ConcurrentHashMap<>());
+    }
+
+    private void append(String lines) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(lines);
+            writer.flush(); // hand the batch to the OS, so it survives the process being killed
+        } catch (IOException e) {
+            throw new DBException("Can't write migration checkpoint", e);
+        }
+    }
+
+    // Drops whatever follows the last '\n': a record the process was killed while appending
+    private static void truncateTornLine(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            while (end > 0) {
+                int length = (int) Math.min(buffer.capacity(), end);
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining()) {
+                    channel.read(buffer, end - length + buffer.position());
+                }
+                int i = length - 1;
+                while (i >= 0 && buffer.get(i) != '\n') {
+                    i--;
+                }
+                if (i >= 0) {
+                    end = end - length + i + 1;
+                    break;
+                }
+                end -= length;
+            }
+            if (end < size) {
+                channel.truncate(end);
+            }
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length == 4 && MAPPING.equals(fields[0])) {
+                    entityMappings(fields[1]).put(fields[2], fields[3]);
+                } else if (fields.length == 3 && WATERMARK.equals(fields[0])) {
+                    watermarks.put(fields[1], fields[2]);
+                } else if (fields.length == 2 && COMPLETED.equals(fields[0])) {
+                    completed.add(fields[1]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.nosql.vykhryst.testApps;
+
+import org.nosql.vykhryst.util.DBException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * One entity type of the migration: a streaming reader fills a bounded queue with batches and
+ * several writer threads drain it. When writers fall behind the reader blocks on the full queue,
+ * so at most {@code (queueCapacity + writerThreads + 1) * batchSize} entities are in memory at once.
+ * Writers finish batches out of order; {@code progress} is called with the key of the last entity of the longest
+ * run of batches, in read order, that are all written.
+ */
+public class MigrationStage<T> {
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final String name;
+    private final Supplier<Stream<T>> reader;
+    private final Function<T, String> keyOf;
+    private final Consumer<List<T>> writer;
+    private final Consumer<String> progress;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int writerThreads;
+
+    private final Batch<T> end = new Batch<>(-1, Collections.emptyList(), null);
+    // last keys of written batches that still wait for an earlier one
+    private final Map<Long, String> writtenAhead = new HashMap<>();
+    private long nextToConfirm;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    public MigrationStage(String name, Supplier<Stream<T>> reader, Function<T, String> keyOf, Consumer<List<T>> writer,
+                          Consumer<String> progress, int batchSize, int queueCapacity, int writerThreads) {
+        this.name = name;
+        this.reader = reader;
+        this.keyOf = keyOf;
+        this.writer = writer;
+        this.progress = progress;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.writerThreads = writerThreads;
+    }
+
+    public void run() {
+        BlockingQueue<Batch<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "migrate-" + name + "-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Instant start = Instant.now();
+        for (int i = 0; i < writerThreads; i++) {
+            writers.execute(() -> drain(queue));
+        }
+
+        Instant readEnd;
+        try {
+            read(queue);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            readEnd = Instant.now();
+            for (int i = 0; i < writerThreads; i++) {
+                put(queue, end);
+            }
+            writers.shutdown();
+            awaitWriters(writers);
+        }
+        Instant writeEnd = Instant.now();
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new DBException("Migration stage '" + name + "' failed after " + written.get() + " rows", cause);
+        }
+        System.out.println(report("read", read.get(), start, readEnd) + "; " + report("written", written.get(), start, writeEnd));
+    }
+
+    private void read(BlockingQueue<Batch<T>> queue) {
+        try (Stream<T> entities = reader.get()) {
+            List<T> batch = new ArrayList<>(batchSize);
+            long[] sequence = {0};
+            entities.forEach(entity -> {
+                if (failure.get() != null) {
+                    throw new IllegalStateException("Writers failed, aborting read");
+                }
+                batch.add(entity);
+                read.incrementAndGet();
+                if (batch.size() == batchSize) {
+                    put(queue, batch(sequence[0]++, batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                put(queue, batch(sequence[0], batch));
+            }
+        }
+    }
+
+    // The key is taken now: writers may overwrite entity ids with the destination ones
+    private Batch<T> batch(long sequence, List<T> entities) {
+        return new Batch<>(sequence, new ArrayList<>(entities), keyOf.apply(entities.get(entities.size() - 1)));
+    }
+
+    private synchronized void confirm(Batch<T> batch) {
+        writtenAhead.put(batch.sequence(), batch.lastKey());
+        String lastKey = null;
+        while (writtenAhead.containsKey(nextToConfirm)) {
+            lastKey = writtenAhead.remove(nextToConfirm++);
+        }
+        if (lastKey != null) {
+            progress.accept(lastKey);
+        }
+    }
+
+    // Keeps consuming after a failure so the reader and the end markers never block on a full queue.
+    private void drain(BlockingQueue<Batch<T>> queue) {
+        try {
+            Batch<T> batch;
+            while ((batch = queue.take()) != end) {
+                if (failure.get() != null) {
+                    continue;
+                }
+                try {
+                    writer.accept(batch.entities());
+                    written.addAndGet(batch.entities().size());
+                    confirm(batch);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    // Blocks while the queue is full (backpressure); data batches are dropped once a writer has failed.
+    private void put(BlockingQueue<Batch<T>> queue, Batch<T> batch) {
+        try {
+            while (!queue.offer(batch, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null && batch != end) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBException("Interrupted while migrating " + name, e);
+        }
+    }
+
+    private void awaitWriters(ExecutorService writers) {
+        try {
+            while (!writers.awaitTermination(1, TimeUnit.SECONDS)) {
+                // keep waiting, writers finish once they see the end markers
+            }
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Batch<T>(long sequence, List<T> entities, String lastKey) {
+    }
+
+    private String report(String action, long rows, Instant from, Instant to) {
+        long millis = Math.max(1, Duration.between(from, to).toMillis());
+        return "Stage " + name + ": " + rows + " rows " + action + " in " + millis + " ms ("
+                + rows * 1000 / millis + " rows/s)";
+    }
+}
@@ -0,0 +1,86 @@
+package org.nosql.vykhryst.testApps;
+
+import org.nosql.vykhryst.dao.mysql.MySqlConnectionManager;
+import org.nosql.vykhryst.dao.mysql.mysqlEntityDao.MySqlProgramDAO;
+import org.nosql.vykhryst.util.DBException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares loading all programs with their line items the old way (one
+ * {@code SELECT_PROGRAM_ADVERTISING} per program) against {@link MySqlProgramDAO#findAll()}.
+ * Round trips are taken from the server-side {@code Questions} counter, so run it against an otherwise idle server.
+ */
+public class ProgramLoadBenchmark {
+
+    public static void main(String[] args) {
+        MySqlConnectionManager connectionManager = MySqlConnectionManager.getInstance();
+        MySqlProgramDAO programDAO = new MySqlProgramDAO();
+        int runs = 3;
+
+        for (int i = 0; i < runs; i++) {
+            System.out.println("\n--- Run " + (i + 1) + " ---");
+
+            long questions = questions(connectionManager);
+            Instant start = Instant.now();
+            int lineItems = loadPerProgram(connectionManager);
+            Instant end = Instant.now();
+            System.out.println("Per-program loop: " + lineItems + " line items, "
+                    + (questions(connectionManager) - questions - 1) + " round trips, "
+                    + Duration.between(start, end).toMillis() + " ms");
+
+            questions = questions(connectionManager);
+            start = Instant.now();
+            lineItems = programDAO.findAll().stream().mapToInt(p -> p.getAdvertisings().size()).sum();
+            end = Instant.now();
+            System.out.println("Set-based findAll: " + lineItems + " line items, "
+                    + (questions(connectionManager) - questions - 1) + " round trips, "
+                    + Duration.between(start, end).toMillis() + " ms");
+        }
+        connectionManager.shutdown();
+    }
+
+    // The pre-existing N+1 loader, kept here only as the baseline
+    private static int loadPerProgram(MySqlConnectionManager connectionManager) {
+        try (Connection conn = connectionManager.getConnection();
+             Statement st = conn.createStatement();
+             PreparedStatement ps = conn.prepareStatement(MySqlProgramDAO.SELECT_PROGRAM_ADVERTISING)) {
+            List<Long> programIds = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery(MySqlProgramDAO.SELECT_ALL_PROGRAMS)) {
+                while (rs.next()) {
+                    programIds.add(rs.getLong("p.id"));
+                }
+            }
+            int lineItems = 0;
+            for (Long programId : programIds) {
+                ps.setLong(1, programId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        lineItems++;
+                    }
+                }
+            }
+            return lineItems;
+        } catch (SQLException e) {
+            throw new DBException("Can't load programs one by one", e);
+        }
+    }
+
+    private static long questions(MySqlConnectionManager connectionManager) {
+        try (Connection conn = connectionManager.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SHOW GLOBAL STATUS LIKE 'Questions'")) {
+            return rs.next() ? rs.getLong(2) : 0;
+        } catch (SQLException e) {
+            throw new DBException("Can't read server status", e);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package org.nosql.vykhryst.testApps;
 
+import org.nosql.vykhryst.analytics.ColumnarReports;
+import org.nosql.vykhryst.analytics.ReportComparison;
+import org.nosql.vykhryst.dao.DaoFactory;
+import org.nosql.vykhryst.dao.TypeDAO;
+import org.nosql.vykhryst.dao.entityDao.AnalyticsDAO;
 import org.nosql.vykhryst.dao.entityDao.ClientDAO;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoAdvertisingDAO;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoProgramDAO;
@@ -7,6 +12,7 @@ import org.nosql.vykhryst.entity.Client;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 public class TestAggregation {
 
@@ -14,10 +20,16 @@ public class TestAggregation {
         MongoProgramDAO mongoProgramDAO = new MongoProgramDAO();
         MongoAdvertisingDAO mongoAdvertisingDAO = new MongoAdvertisingDAO();
 
-        // Запит 1
+        // Підсумкові колекції будуються один раз, далі підтримуються інкрементально
         Instant start = Instant.now();
-        mongoAdvertisingDAO.countAdsPerCategory();
+        mongoProgramDAO.rebuildSummaries();
         Instant end = Instant.now();
+        System.out.println("Time for rebuildSummaries: " + Duration.between(start, end).toMillis() + " ms");
+
+        // Запит 1
+        start = Instant.now();
+        mongoAdvertisingDAO.countAdsPerCategory();
+        end = Instant.now();
         System.out.println("Time for countAdsPerCategory: " + Duration.between(start, end).toMillis() + " ms");
 
         start = Instant.now();
@@ -48,6 +60,11 @@ public class TestAggregation {
         end = Instant.now();
         System.out.println("Time for aggregateCalculateProgramCost: " + Duration.between(start, end).toMillis() + " ms");
 
+        start = Instant.now();
+        mongoProgramDAO.summaryCalculateProgramCost();
+        end = Instant.now();
+        System.out.println("Time for summaryCalculateProgramCost: " + Duration.between(start, end).toMillis() + " ms");
+
 
         // Запит 4
         start = Instant.now();
@@ -71,5 +88,52 @@ public class TestAggregation {
         mongoProgramDAO.aggregateGetMostPopularAdCategories(3);
         end = Instant.now();
         System.out.println("Time for aggregateGetMostPopularAdCategories: " + Duration.between(start, end).toMillis() + " ms");
+
+        start = Instant.now();
+        mongoProgramDAO.summaryGetMostPopularAdCategories(3);
+        end = Instant.now();
+        System.out.println("Time for summaryGetMostPopularAdCategories: " + Duration.between(start, end).toMillis() + " ms");
+
+        List<String> inconsistencies = mongoProgramDAO.checkSummaries();
+        System.out.println(inconsistencies.isEmpty() ? "Summaries are consistent" : "Summary inconsistencies: " + inconsistencies);
+
+        // Запити 1-5 у колонковому знімку в пам'яті
+        start = Instant.now();
+        ColumnarReports columnarReports = ColumnarReports.load(TypeDAO.MONGODB);
+        end = Instant.now();
+        System.out.println("Time for ColumnarReports.load (" + columnarReports.getAdvertisingCount() + " ads, "
+                + columnarReports.getLineItemCount() + " line items): " + Duration.between(start, end).toMillis() + " ms");
+
+        start = Instant.now();
+        columnarReports.countAdsPerCategory();
+        columnarReports.averageAdPricePerCategory();
+        columnarReports.calculateProgramCost();
+        columnarReports.getAdsInPriceRange(100, 200);
+        columnarReports.getMostPopularAdCategories(3);
+        end = Instant.now();
+        System.out.println("Time for all five columnar reports: " + Duration.between(start, end).toMillis() + " ms");
+
+        // Запити 1-5 на MySQL і MongoDB з однаковими параметрами
+        DaoFactory daoFactory = DaoFactory.getInstance();
+        for (TypeDAO type : TypeDAO.values()) {
+            AnalyticsDAO analyticsDAO = daoFactory.getAnalyticsDAO(type);
+            timed(type + " countAdsPerCategory", analyticsDAO::countAdsPerCategory);
+            timed(type + " averageAdPricePerCategory", analyticsDAO::averageAdPricePerCategory);
+            timed(type + " calculateProgramCost", analyticsDAO::calculateProgramCost);
+            timed(type + " getAdsInPriceRange", () -> analyticsDAO.getAdsInPriceRange(100, 200));
+            timed(type + " getMostPopularAdCategories", () -> analyticsDAO.getMostPopularAdCategories(3));
+        }
+        List<String> differences = ReportComparison.differences(daoFactory.getAnalyticsDAO(TypeDAO.MYSQL),
+                daoFactory.getAnalyticsDAO(TypeDAO.MONGODB), 100, 200, 3);
+        System.out.println(differences.isEmpty() ? "MySQL and MongoDB reports are equal" : "Report differences: " + differences);
+        differences = ReportComparison.differences(daoFactory.getAnalyticsDAO(TypeDAO.MONGODB), columnarReports, 100, 200, 3);
+        System.out.println(differences.isEmpty() ? "Columnar reports are equal" : "Columnar report differences: " + differences);
+    }
+
+    private static void timed(String name, Runnable query) {
+        Instant start = Instant.now();
+        query.run();
+        Instant end = Instant.now();
+        System.out.println("Time for " + name + ": " + Duration.between(start, end).toMillis() + " ms");
     }
 }
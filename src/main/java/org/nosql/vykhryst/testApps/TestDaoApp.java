@@ -177,15 +177,15 @@ public class TestDaoApp {
 
         Advertising advertising3 = advertisingDAO.findById("6570b88ffec1bc4c7e89875f").orElse(null);
 
+        // Add Advertising to Program
+        System.out.println("\nAdded Advertising to Program: " + programDAO.saveAdvertisingToProgram(program.getId(), Map.of(advertising3, 30)));
+        System.out.println("Result: " + programDAO.findById(program.getId()).orElse(null));
+
         // Update Program Advertising
-        // for MongoDB
-        program.addAdvertising(advertising3, 30);
-        System.out.println("\nUpdating Program Advertising: " + programDAO.update(program));
+        System.out.println("\nUpdating Program Advertising: " + programDAO.updateAdvertisingQuantity(program.getId(), advertising3.getId(), 10));
         System.out.println("Result: " + programDAO.findById(program.getId()).orElse(null));
 
         // Delete Advertising from Program
-        program.deleteAdvertising(advertising3);
-        System.out.println("\nDeleting Advertising from Program: " + programDAO.update(program));
         System.out.println("\nDeleting Advertising from Program: " + programDAO.deleteAdvertisingFromProgram(program.getId(), advertising3.getId()));
         System.out.println("Result: " + programDAO.findById(program.getId()).orElse(null));
 
@@ -0,0 +1,19 @@
+package org.nosql.vykhryst.testApps;
+
+import org.nosql.vykhryst.dao.mongodb.MongoConnectionManager;
+
+import java.util.List;
+
+public class TestIndexes {
+
+    public static void main(String[] args) {
+        // the indexes are created when MongoConnectionManager initializes
+        List<String> unindexed = MongoConnectionManager.findUnindexedQueries();
+        if (unindexed.isEmpty()) {
+            System.out.println("All DAO queries use an index");
+        } else {
+            System.out.println("Queries without an index:");
+            unindexed.forEach(query -> System.out.println("  " + query));
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package org.nosql.vykhryst.testApps;
 
-import org.nosql.vykhryst.dao.AbstractDaoFactory;
-import org.nosql.vykhryst.dao.DaoFactory;
-import org.nosql.vykhryst.dao.TypeDAO;
 import org.nosql.vykhryst.dao.entityDao.ClientDAO;
 import org.nosql.vykhryst.dao.mongodb.mongoEntityDao.MongoClientDAO;
 import org.nosql.vykhryst.entity.Client;
@@ -14,15 +11,13 @@ import java.util.List;
 public class TestReplicaApp {
     public static void main(String[] args) {
 
-        // Initialize DAO Factory
-        AbstractDaoFactory daoFactory = DaoFactory.getInstance();
-
-        ClientDAO mongoClientDAO = daoFactory.getClientDAO(TypeDAO.MONGODB);
+        // insertWithReplica is Mongo-specific, so the DAO is created directly instead of through the (decorating) factory
+        MongoClientDAO mongoClientDAO = new MongoClientDAO();
 
         int count = 10000;
 
         System.out.println("\n--- Test INSERT ---");
-        testInsert((MongoClientDAO) mongoClientDAO, count);
+        testInsert(mongoClientDAO, count);
 
         System.out.println("\n--- Test SELECT ---");
         testSelect(mongoClientDAO);
@@ -31,4 +31,8 @@ public class PropertiesManager {
     public static String getProperty(String propertyName) {
         return properties.getProperty(propertyName);
     }
-}
\ No newline at end of file
+
+    public static String getProperty(String propertyName, String defaultValue) {
+        return properties.getProperty(propertyName, defaultValue).trim();
+    }
+}
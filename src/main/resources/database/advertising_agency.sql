@@ -53,6 +53,9 @@ create index client_email_index
 create index client_password_index
     on client (password);
 
+create index client_username_index
+    on client (username);
+
 INSERT INTO `client` (`username`, `firstname`, `lastname`, `phone_number`, `email`, `password`)
 VALUES ('client1', 'John', 'Doe', '1234567890', 'john.doe@example.com', 'password1'),
        ('client2', 'Jane', 'Smith', '9876543210', 'jane.smith@example.com', 'password2'),
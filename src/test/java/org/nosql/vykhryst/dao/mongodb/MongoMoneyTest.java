@@ -0,0 +1,87 @@
+package org.nosql.vykhryst.dao.mongodb;
+
+import junit.framework.TestCase;
+import org.bson.types.Decimal128;
+import org.nosql.vykhryst.entity.Money;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+public class MongoMoneyTest extends TestCase {
+
+    public void testToDecimal128MatchesBigDecimalEncoding() {
+        for (long minorUnits : new long[]{0, 1, -1, 1250, -1250, 99, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1}) {
+            assertEquals(String.valueOf(minorUnits), new Decimal128(BigDecimal.valueOf(minorUnits, Money.SCALE)),
+                    MongoMoney.toDecimal128(minorUnits));
+        }
+    }
+
+    public void testLongMinValueRoundTrips() {
+        Decimal128 value = MongoMoney.toDecimal128(Long.MIN_VALUE);
+        assertEquals(BigDecimal.valueOf(Long.MIN_VALUE, Money.SCALE), value.bigDecimalValue());
+        assertEquals(Long.MIN_VALUE, MongoMoney.minorUnits(value));
+    }
+
+    public void testOtherScalesAndSigns() {
+        assertEquals(1250, MongoMoney.minorUnits(Decimal128.parse("12.5")));
+        assertEquals(1234, MongoMoney.minorUnits(Decimal128.parse("12.3400")));
+        assertEquals(-700, MongoMoney.minorUnits(Decimal128.parse("-7")));
+        assertEquals(100_000, MongoMoney.minorUnits(Decimal128.parse("1E+3")));
+        assertEquals(0, MongoMoney.minorUnits(Decimal128.parse("0E-10")));
+        assertEquals(0, MongoMoney.minorUnits(Decimal128.NEGATIVE_ZERO));
+        assertEquals(-5, MongoMoney.minorUnits(Decimal128.parse("-0.0500")));
+    }
+
+    public void testCoefficientInHighWord() {
+        // 10^21 * 10^-20 needs more than 64 coefficient bits
+        assertEquals(1000, MongoMoney.minorUnits(Decimal128.parse("10.00000000000000000000")));
+        assertEquals(-1000, MongoMoney.minorUnits(Decimal128.parse("-10.00000000000000000000")));
+        // 2^63 as the low word alone
+        assertFails(new Decimal128(new BigDecimal("92233720368547758.08")));
+        assertEquals(Long.MAX_VALUE, MongoMoney.minorUnits(new Decimal128(new BigDecimal("92233720368547758.07"))));
+    }
+
+    public void testRejectsInexactOrOversizedValues() {
+        assertFails(Decimal128.parse("1.234"));
+        assertFails(Decimal128.parse("1.23000000000000000001"));
+        assertFails(Decimal128.parse("1E+30"));
+        assertFails(Decimal128.NaN);
+        assertFails(Decimal128.POSITIVE_INFINITY);
+        assertFails(Decimal128.NEGATIVE_INFINITY);
+    }
+
+    public void testRandomRoundTripAgainstBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long minorUnits = i % 2 == 0 ? random.nextLong() : random.nextInt(2_000_000) - 1_000_000;
+            Decimal128 encoded = MongoMoney.toDecimal128(minorUnits);
+            assertEquals(new Decimal128(BigDecimal.valueOf(minorUnits, Money.SCALE)), encoded);
+            assertEquals(minorUnits, MongoMoney.minorUnits(encoded));
+
+            // any scale other clients may store: exact, too many places or out of range
+            BigDecimal value = BigDecimal.valueOf(random.nextInt(3) == 0 ? random.nextLong() : random.nextInt(),
+                    random.nextInt(10) - 3);
+            Long expected;
+            try {
+                expected = value.setScale(Money.SCALE).unscaledValue().longValueExact();
+            } catch (ArithmeticException e) {
+                expected = null;
+            }
+            Decimal128 rescaled = new Decimal128(value);
+            if (expected != null) {
+                assertEquals(value.toPlainString(), expected.longValue(), MongoMoney.minorUnits(rescaled));
+                assertEquals(Money.ofMinorUnits(expected), MongoMoney.toMoney(rescaled));
+            } else {
+                assertFails(rescaled);
+            }
+        }
+    }
+
+    private static void assertFails(Decimal128 value) {
+        try {
+            MongoMoney.minorUnits(value);
+            fail("Converted " + value);
+        } catch (ArithmeticException expected) {
+        }
+    }
+}
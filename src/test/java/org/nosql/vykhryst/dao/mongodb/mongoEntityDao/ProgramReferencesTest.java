@@ -0,0 +1,67 @@
+package org.nosql.vykhryst.dao.mongodb.mongoEntityDao;
+
+import junit.framework.TestCase;
+import org.nosql.vykhryst.entity.Advertising;
+import org.nosql.vykhryst.entity.Category;
+import org.nosql.vykhryst.entity.Client;
+import org.nosql.vykhryst.entity.Money;
+import org.nosql.vykhryst.entity.Program;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class ProgramReferencesTest extends TestCase {
+
+    private static final String AD_ID = "65a000000000000000000001";
+    private static final String CLIENT_ID = "65a000000000000000000002";
+
+    // the advertising as it is now: renamed, repriced and moved to another category since the item was added
+    private static final Advertising CURRENT = new Advertising(AD_ID, new Category("65a000000000000000000010", "Online"),
+            "Banner v2", "day", Money.parse("80.00"), "Updated", LocalDateTime.of(2024, 5, 1, 0, 0));
+    private static final Client CLIENT = new Client(CLIENT_ID, "client", "Ann", "Lee", "123", "ann@example.com", "secret");
+
+    private static Program program(Advertising lineItem) {
+        return new Program.Builder()
+                .id("65a000000000000000000003")
+                .campaignTitle("Spring")
+                .client(new Client(CLIENT_ID, null, null, null, null, null, null))
+                .addAdvertising(lineItem, 2)
+                .build();
+    }
+
+    private static Advertising resolvedItem(Advertising lineItem) {
+        Program resolved = ProgramReferences.resolve(program(lineItem), Map.of(CLIENT_ID, CLIENT), Map.of(AD_ID, CURRENT));
+        assertEquals("client", resolved.getClient().getUsername());
+        assertEquals(1, resolved.getAdvertisings().size());
+        Map.Entry<Advertising, Integer> item = resolved.getAdvertisings().entrySet().iterator().next();
+        assertEquals(2, item.getValue().intValue());
+        return item.getKey();
+    }
+
+    public void testSnapshotPriceAndCategoryWin() {
+        Category snapshotCategory = new Category("65a000000000000000000011", "Outdoor");
+        Advertising advertising = resolvedItem(new Advertising(AD_ID, snapshotCategory, null, null, Money.parse("120.50"), null, null));
+
+        assertEquals(Money.parse("120.50"), advertising.getUnitPrice());
+        assertEquals(snapshotCategory, advertising.getCategory());
+        // not snapshotted: current values
+        assertEquals("Banner v2", advertising.getName());
+        assertEquals("Updated", advertising.getDescription());
+    }
+
+    public void testSnapshotWithoutCategoryIdKeepsSnapshotName() {
+        Advertising advertising = resolvedItem(new Advertising(AD_ID, new Category(null, "Outdoor"), null, null,
+                Money.parse("120.50"), null, null));
+
+        assertEquals("Outdoor", advertising.getCategory().getName());
+        assertEquals(CURRENT.getCategory().getId(), advertising.getCategory().getId());
+    }
+
+    public void testBareReferenceIsCurrent() {
+        Advertising advertising = resolvedItem(new Advertising(AD_ID, null, null, null, null, null, null));
+
+        assertEquals(CURRENT, advertising);
+        assertNotSame(CURRENT, advertising);
+        assertNotSame(CURRENT.getCategory(), advertising.getCategory());
+    }
+}
@@ -0,0 +1,118 @@
+package org.nosql.vykhryst.entity;
+
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+public class MoneyTest extends TestCase {
+
+    public void testParseScalesToMinorUnits() {
+        assertEquals(1250, Money.parse("12.5").getMinorUnits());
+        assertEquals(10000, Money.parse("100.00").getMinorUnits());
+        assertEquals(700, Money.parse("7").getMinorUnits());
+        assertEquals(700, Money.parse("7.").getMinorUnits());
+        assertEquals(50, Money.parse(".5").getMinorUnits());
+        assertEquals(-1205, Money.parse("-12.05").getMinorUnits());
+        assertEquals(1, Money.parse("+0.01").getMinorUnits());
+        assertSame(Money.ZERO, Money.parse("-0.00"));
+    }
+
+    public void testParseAcceptsTrailingZerosPastScale() {
+        assertEquals(123, Money.parse("1.2300").getMinorUnits());
+        assertEquals(-100, Money.parse("-1.000000").getMinorUnits());
+    }
+
+    public void testParseRejectsMoreThanTwoFractionDigits() {
+        assertParseFails("1.234", ArithmeticException.class);
+        assertParseFails("0.001", ArithmeticException.class);
+        assertParseFails("-5.0001", ArithmeticException.class);
+    }
+
+    public void testParseRejectsMalformedInput() {
+        assertParseFails("", NumberFormatException.class);
+        assertParseFails("-", NumberFormatException.class);
+        assertParseFails(".", NumberFormatException.class);
+        assertParseFails("1.2.3", NumberFormatException.class);
+        assertParseFails("1e3", NumberFormatException.class);
+        assertParseFails(" 1", NumberFormatException.class);
+    }
+
+    public void testParseAtLongLimits() {
+        assertEquals(Long.MAX_VALUE, Money.parse("92233720368547758.07").getMinorUnits());
+        assertParseFails("92233720368547758.08", ArithmeticException.class);
+        // the magnitude is accumulated positive, so -2^63 itself doesn't fit
+        assertParseFails("-92233720368547758.08", ArithmeticException.class);
+    }
+
+    public void testOfBigDecimal() {
+        assertEquals(1250, Money.of(new BigDecimal("12.5")).getMinorUnits());
+        assertEquals(123, Money.of(new BigDecimal("1.2300")).getMinorUnits());
+        assertEquals(10000, Money.of(new BigDecimal("1E+2")).getMinorUnits());
+        assertEquals(Long.MIN_VALUE, Money.of(BigDecimal.valueOf(Long.MIN_VALUE, Money.SCALE)).getMinorUnits());
+        try {
+            Money.of(new BigDecimal("1.234"));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            Money.of(BigDecimal.valueOf(Long.MAX_VALUE, Money.SCALE).add(new BigDecimal("0.01")));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+    }
+
+    public void testArithmeticIsExact() {
+        assertEquals(Money.parse("30.75"), Money.parse("10.25").times(3));
+        assertEquals(Money.parse("0.01"), Money.parse("-1.99").plus(Money.ofUnits(2)));
+        try {
+            Money.ofMinorUnits(Long.MAX_VALUE).plus(Money.ofMinorUnits(1));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            Money.ofMinorUnits(Long.MIN_VALUE).times(-1);
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            Money.ofUnits(Long.MAX_VALUE / 10);
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+    }
+
+    public void testConversions() {
+        Money money = Money.ofMinorUnits(-5);
+        assertEquals(new BigDecimal("-0.05"), money.toBigDecimal());
+        assertEquals("-0.05", money.toString());
+        assertEquals(-0.05, money.toDouble(), 0);
+        assertEquals(-1, money.signum());
+        assertEquals("-92233720368547758.08", Money.ofMinorUnits(Long.MIN_VALUE).toString());
+    }
+
+    public void testRandomRoundTripThroughBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long minorUnits = i % 2 == 0 ? random.nextLong() : random.nextInt(2_000_000) - 1_000_000;
+            if (minorUnits == Long.MIN_VALUE) {
+                continue;
+            }
+            BigDecimal value = BigDecimal.valueOf(minorUnits, Money.SCALE);
+            Money money = Money.of(value);
+            assertEquals(minorUnits, money.getMinorUnits());
+            assertEquals(0, value.compareTo(money.toBigDecimal()));
+            assertEquals(money, Money.parse(value.toPlainString()));
+            assertEquals(money, Money.parse(value.setScale(Money.SCALE + random.nextInt(4)).toPlainString()));
+        }
+    }
+
+    private static void assertParseFails(String value, Class<? extends RuntimeException> expected) {
+        try {
+            Money.parse(value);
+            fail("Parsed " + value);
+        } catch (RuntimeException e) {
+            assertEquals(value, expected, e.getClass());
+        }
+    }
+}
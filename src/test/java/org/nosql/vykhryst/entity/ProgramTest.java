@@ -0,0 +1,46 @@
+package org.nosql.vykhryst.entity;
+
+import junit.framework.TestCase;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public class ProgramTest extends TestCase {
+
+    // the way MySqlProgramDAO and ProgramCodec assemble a program they read
+    private static Program loaded() {
+        Advertising advertising = new Advertising.Builder()
+                .id("7")
+                .category(new Category("1", "Outdoor"))
+                .name("Billboard")
+                .measurement("day")
+                .unitPrice(Money.parse("120.50"))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+        return new Program.Builder()
+                .id("3")
+                .client(new Client.Builder().id("2").username("client").build())
+                .campaignTitle("Spring")
+                .description("Spring campaign")
+                .createdAt(LocalDateTime.of(2024, 2, 1, 12, 0))
+                .addAdvertising(advertising, 4)
+                .build();
+    }
+
+    public void testLoadedProgramHasNoChangedFields() {
+        assertTrue(loaded().getChangedFields().isEmpty());
+    }
+
+    public void testUpdatingTitleOfLoadedProgramChangesOnlyTitle() {
+        Program program = loaded();
+        program.setCampaignTitle("Summer");
+        assertEquals(Set.of(Program.Fields.campaignTitle), program.getChangedFields().names());
+        assertFalse(program.getChangedFields().contains(Program.Fields.advertisings));
+    }
+
+    public void testAddingLineItemMarksAdvertisings() {
+        Program program = loaded();
+        program.addAdvertising(new Advertising.Builder().id("8").build(), 1);
+        assertEquals(Set.of(Program.Fields.advertisings), program.getChangedFields().names());
+    }
+}
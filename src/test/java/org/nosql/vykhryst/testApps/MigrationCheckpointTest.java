@@ -0,0 +1,67 @@
+package org.nosql.vykhryst.testApps;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class MigrationCheckpointTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("migration", ".log");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    public void testTornLastLineIsDroppedAndAppendsStartOnANewLine() throws IOException {
+        // the process was killed in the middle of the second record
+        Files.writeString(file, "M\tclient\t1\t100\nM\tclient\t2\t20", StandardCharsets.UTF_8);
+
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(file)) {
+            assertEquals(Map.of("1", "100"), checkpoint.mappings("client"));
+            checkpoint.record("client", List.of("3"), List.of("300"));
+        }
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(file)) {
+            assertEquals(Map.of("1", "100", "3", "300"), checkpoint.mappings("client"));
+        }
+        assertEquals("M\tclient\t1\t100\nM\tclient\t3\t300\n", Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    public void testFileWithoutCompleteLineIsEmptied() throws IOException {
+        Files.writeString(file, "C\tcateg", StandardCharsets.UTF_8);
+
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(file)) {
+            assertFalse(checkpoint.isCompleted("categ"));
+            checkpoint.complete("category");
+        }
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(file)) {
+            assertTrue(checkpoint.isCompleted("category"));
+        }
+        assertEquals("C\tcategory\n", Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    public void testWatermarkAndCompletionAreReplayed() {
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(file)) {
+            checkpoint.advance("advertising", "10");
+            checkpoint.advance("advertising", "25");
+            checkpoint.advance("client", "7");
+            checkpoint.complete("client");
+        }
+        try (MigrationCheckpoint checkpoint = MigrationCheckpoint.open(file)) {
+            assertEquals("25", checkpoint.watermark("advertising"));
+            assertFalse(checkpoint.isCompleted("advertising"));
+            assertTrue(checkpoint.isCompleted("client"));
+            assertNull(checkpoint.watermark("program"));
+        }
+    }
+}